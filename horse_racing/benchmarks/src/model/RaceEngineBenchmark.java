@@ -0,0 +1,68 @@
+package model;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Biaya langkah satu kuda, satu tick seluruh field, dan satu balapan penuh
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RaceEngineBenchmark {
+
+    // track yang tidak pernah habis dalam satu iterasi, supaya yang diukur murni tick
+    private static final int ENDLESS_TRACK = 1_000_000_000;
+    private static final int TRACK_LENGTH = 1000;
+
+    private RaceHorse horse;
+    private RaceEngine engine;
+    private LargeFieldRace largeField;
+    private long seed;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        horse = new RaceHorse("Bench", "", 60, true);
+        horse.setRandom(new SplittableRandom(42));
+        engine = new RaceEngine(RaceField.create("Bench", 60, 42).getHorses(), ENDLESS_TRACK);
+        largeField = LargeFieldRace.create(60, 500, ENDLESS_TRACK, 42);
+    }
+
+    @Benchmark
+    public int raceHorseMove() {
+        horse.move();
+        return horse.getPosition();
+    }
+
+    @Benchmark
+    public boolean engineTick() {
+        return engine.tick();
+    }
+
+    @Benchmark
+    public boolean largeFieldTick500() {
+        return largeField.tick();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<RaceHorse> fullRace() {
+        RaceField field = RaceField.create("Bench", 60, seed++);
+        RaceEngine race = new RaceEngine(field.getHorses(), TRACK_LENGTH);
+        race.runToCompletion();
+        return race.getFinishOrder();
+    }
+}
@@ -0,0 +1,35 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Decode + scale semua frame GIF. Ukuran diselang-seling supaya cache preRenderFrames tidak kena.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class HorseAssetsBenchmark {
+
+    @Param({"80", "160", "320"})
+    public int size;
+
+    private boolean alternate;
+
+    @Benchmark
+    public boolean preRenderFrames() {
+        alternate = !alternate;
+        int target = alternate ? size : size + 1;
+        return HorseAssets.preRenderFrames(target, target);
+    }
+}
@@ -0,0 +1,107 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.Horse;
+import model.RaceHistory;
+import model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// UserManager terhadap H2 in-memory mode MySQL sebagai pengganti server MySQL.
+// Angka query di sini untuk membandingkan versi kode, bukan latency MySQL sungguhan.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+    "-Dhorseracing.db.jdbcUrl=jdbc:h2:mem:horse_racing_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "-Dhorseracing.db.user=sa"
+})
+@State(Scope.Benchmark)
+public class UserManagerBenchmark {
+
+    private static final String USERNAME = "bench";
+    private static final String PASSWORD = "secret";
+    private static final String SALT = "c2FsdHNhbHRzYWx0c2FsdA==";
+    private static final int PAGE_SIZE = 100;
+
+    // 100000: HistoryPanel harus tetap instan, getUserHistory dibandingkan dengan satu halaman
+    @Param({"100", "1000", "100000"})
+    public int historyRows;
+
+    private UserManager userManager;
+    private User user;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userManager = new UserManager();
+        userManager.register(USERNAME, PASSWORD);
+        user = userManager.login(USERNAME, PASSWORD);
+        user.setHorse(new Horse("Bench"));
+        userManager.updateUser(user);
+
+        //satu transaksi batch, bukan satu koneksi per baris
+        List<RaceHistory> rows = new ArrayList<>(historyRows);
+        for (int i = 0; i < historyRows; i++) {
+            rows.add(new RaceHistory(user.getUserId(), "Bench", i % 5 + 1, 5, 0, i, 1000, 50));
+        }
+        userManager.saveSettlements(rows);
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return userManager.hashPassword(PASSWORD, SALT);
+    }
+
+    @Benchmark
+    public User login() {
+        return userManager.login(USERNAME, PASSWORD);
+    }
+
+    @Benchmark
+    public List<RaceHistory> getUserHistory() {
+        return userManager.getUserHistory(user.getUserId());
+    }
+
+    @Benchmark
+    public int countUserHistory() {
+        return userManager.countUserHistory(user.getUserId());
+    }
+
+    @Benchmark
+    public List<RaceHistory> getUserHistoryFirstPage() {
+        return userManager.getUserHistoryPage(user.getUserId(), null, PAGE_SIZE);
+    }
+
+    // scrollbar ditarik ke tengah tanpa batas halaman yang sudah diketahui: scan kunci index lalu satu halaman keyset
+    @Benchmark
+    public List<RaceHistory> getUserHistoryMiddlePage() {
+        int pages = historyRows / 2 / PAGE_SIZE;
+        List<UserManager.HistoryKey> starts = userManager.getUserHistoryPageStarts(user.getUserId(), null, PAGE_SIZE, pages);
+        UserManager.HistoryKey start = starts.isEmpty() ? null : starts.get(starts.size() - 1);
+        return userManager.getUserHistoryPage(user.getUserId(), start, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void updateUser() {
+        userManager.updateUser(user);
+    }
+
+    @Benchmark
+    public void addRaceHistory() {
+        userManager.addRaceHistory(new RaceHistory(user.getUserId(), "Bench", 1, 5, 100, seed++, 1000, 50));
+    }
+}
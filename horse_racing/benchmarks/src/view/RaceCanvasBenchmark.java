@@ -0,0 +1,87 @@
+package view;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import model.RaceHorse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.HorseAssets;
+
+// Satu frame RaceCanvas: geser semua kuda lalu paint seluruh canvas ke image offscreen.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RaceCanvasBenchmark {
+
+    private static final int WIDTH = 1600;
+    private static final int HEIGHT = 900;
+
+    // 200 kuda: kamera hanya menggambar lane yang terlihat, biaya harus sama dengan 5 kuda
+    @Param({"5", "50", "200"})
+    public int horses;
+
+    private RaceCanvas canvas;
+    private BufferedImage target;
+    private Graphics2D g2d;
+    private int[] positions;
+    private SplittableRandom random;
+    private int frame;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        HorseAssets.preRenderFrames(160, 160);
+
+        List<RaceHorse> field = new ArrayList<>(horses);
+        int[] lanes = new int[horses];
+        for (int i = 0; i < horses; i++) {
+            field.add(new RaceHorse("Horse " + i, "", 60, i == 0));
+            lanes[i] = i;
+        }
+        canvas = new RaceCanvas(ImageIO.read(new File("assets/TrackBalapan.png")), horses);
+        canvas.setSize(WIDTH, HEIGHT);
+        canvas.rebuildTrack();
+        canvas.setField(field, lanes);
+
+        target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2d = target.createGraphics();
+        positions = new int[horses];
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintFrame() {
+        for (int i = 0; i < horses; i++) {
+            positions[i] = (positions[i] + RaceHorse.stride(random, 60)) % (WIDTH - 300);
+        }
+        frame++;
+        canvas.update(positions, frame % Math.max(1, HorseAssets.getPreRenderedFrameCount()));
+        canvas.paint(g2d);
+        return target;
+    }
+}
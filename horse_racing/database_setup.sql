@@ -43,8 +43,12 @@ CREATE TABLE IF NOT EXISTS race_history (
     total_horses INT NOT NULL,
     coins_earned INT NOT NULL,
     race_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    seed BIGINT NULL,
+    track_length INT NULL,
+    player_speed INT NULL,
     PRIMARY KEY (id),
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     INDEX idx_user_id (user_id),
-    INDEX idx_race_date (race_date)
+    INDEX idx_race_date (race_date),
+    INDEX idx_user_race_date (user_id, race_date, id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
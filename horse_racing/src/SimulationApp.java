@@ -0,0 +1,257 @@
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import model.Horse;
+import model.LargeFieldRace;
+import model.PayoutTable;
+import model.RaceEngine;
+import model.RaceField;
+import model.RaceHorse;
+
+// Entry point tanpa GUI: jalankan banyak balapan sekaligus untuk menyetel speed lawan dan tabel hadiah.
+// Contoh: java -cp bin SimulationApp --races 1000000 --speed 60 --stamina 55 --acceleration 50
+// Field 5 kuda memakai RaceField + RaceEngine persis seperti game; --field N yang lebih besar memakai LargeFieldRace.
+public class SimulationApp {
+
+    private static final int SPLIT_THRESHOLD = 2_000;
+    private static final int BAND_WIDTH = 10;
+    private static final int MAX_SPEED = 200;
+    // kolom posisi di laporan; field besar hanya menampilkan 5 posisi teratas
+    private static final int PLACE_COLUMNS = RaceField.NUM_COMPETITORS;
+
+    private static int races = 100_000;
+    private static int fieldSize = RaceField.NUM_COMPETITORS;
+    private static int playerSpeed = new Horse("Player").calculateRaceSpeed();
+    //sama dengan game di jendela penuh; di game panjangnya ikut lebar jendela
+    private static int trackLength = RaceField.TYPICAL_TRACK_LENGTH;
+    private static int minCompetitorSpeed = RaceField.MIN_COMPETITOR_SPEED;
+    private static int competitorSpeedRange = RaceField.COMPETITOR_SPEED_RANGE;
+    private static int threads = Runtime.getRuntime().availableProcessors();
+    private static long seed = RaceField.newSeed();
+
+    public static void main(String[] args) {
+        try {
+            parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(1);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        Stats stats = pool.invoke(new BatchTask(0, races));
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        printReport(stats, elapsed);
+    }
+
+    private static void parseArgs(String[] args) {
+        Horse horse = new Horse("Player");
+        boolean statsGiven = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--help") || arg.equals("-h")) {
+                printUsage();
+                System.exit(0);
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--races": races = positiveInt(arg, value); break;
+                case "--player-speed": playerSpeed = positiveInt(arg, value); break;
+                case "--speed": horse.setSpeed(positiveInt(arg, value)); statsGiven = true; break;
+                case "--stamina": horse.setStamina(positiveInt(arg, value)); statsGiven = true; break;
+                case "--acceleration": horse.setAcceleration(positiveInt(arg, value)); statsGiven = true; break;
+                case "--track": trackLength = positiveInt(arg, value); break;
+                case "--field": fieldSize = positiveInt(arg, value); break;
+                case "--min-speed": minCompetitorSpeed = positiveInt(arg, value); break;
+                case "--speed-range": competitorSpeedRange = positiveInt(arg, value); break;
+                case "--threads": threads = positiveInt(arg, value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        // stat kuda dipakai kalau diberikan, sama seperti Horse.calculateRaceSpeed di game
+        if (statsGiven) {
+            playerSpeed = horse.calculateRaceSpeed();
+        }
+        if (fieldSize < RaceField.NUM_COMPETITORS) {
+            throw new IllegalArgumentException("--field must be at least " + RaceField.NUM_COMPETITORS);
+        }
+    }
+
+    private static int positiveInt(String option, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed <= 0) {
+                throw new IllegalArgumentException(option + " must be positive");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + " expects a number, got " + value);
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: java -cp bin SimulationApp [options]");
+        System.out.println("  --races N          number of races to simulate (default 100000)");
+        System.out.println("  --player-speed S   player race speed, or derive it from:");
+        System.out.println("  --speed S --stamina S --acceleration S");
+        System.out.println("  --track L          track length in steps (default " + RaceField.TYPICAL_TRACK_LENGTH
+                + ", the game's track in a maximized 1920px window;");
+        System.out.println("                     in the game it is the track area width in pixels - " + RaceField.TRACK_SIDE_MARGINS
+                + ", at least " + RaceField.MIN_TRACK_LENGTH + ")");
+        System.out.println("  --field N          horses per race (default " + RaceField.NUM_COMPETITORS
+                + " as in the game; larger fields use LargeFieldRace)");
+        System.out.println("  --min-speed S      slowest competitor speed (default " + RaceField.MIN_COMPETITOR_SPEED + ")");
+        System.out.println("  --speed-range R    competitor speeds are min..min+R-1 (default " + RaceField.COMPETITOR_SPEED_RANGE + ")");
+        System.out.println("  --threads T        worker threads (default: all cores)");
+        System.out.println("  --seed X           base seed, race i uses seed X+i");
+    }
+
+    private static void printReport(Stats stats, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("Simulated %,d races in %.2f s (%,.0f races/sec) on %d threads%n",
+                races, seconds, races / seconds, threads);
+        System.out.printf("Player speed %d, track %d, field %d, competitors %d-%d, base seed %d%n",
+                playerSpeed, trackLength, fieldSize, minCompetitorSpeed,
+                minCompetitorSpeed + competitorSpeedRange - 1, seed);
+
+        System.out.print("Player placement:");
+        long payout = 0;
+        long placeSum = 0;
+        for (int place = 1; place <= fieldSize; place++) {
+            long count = stats.playerPlaces[place - 1];
+            payout += count * PayoutTable.coinsForPlace(place);
+            placeSum += count * place;
+            if (place <= PLACE_COLUMNS) {
+                System.out.printf("  %s %5.1f%%", rank(place), 100.0 * count / races);
+            }
+        }
+        if (fieldSize > PLACE_COLUMNS) {
+            System.out.printf("  average place %.1f of %d", (double) placeSum / races, fieldSize);
+        }
+        System.out.printf("%nAverage payout: %.2f coins/race%n%n", (double) payout / races);
+
+        System.out.printf("%-10s %12s", "Speed", "Horses");
+        for (int place = 1; place <= PLACE_COLUMNS; place++) {
+            System.out.printf(" %7s", rank(place));
+        }
+        System.out.println();
+
+        for (int band = 0; band < stats.bandPlaces.length; band++) {
+            long total = stats.bandTotals[band];
+            if (total == 0) continue;
+
+            int low = band * BAND_WIDTH;
+            System.out.printf("%-10s %,12d", low + "-" + (low + BAND_WIDTH - 1), total);
+            for (long c : stats.bandPlaces[band]) {
+                System.out.printf(" %6.1f%%", 100.0 * c / total);
+            }
+            System.out.println();
+        }
+    }
+
+    private static String rank(int place) {
+        switch (place) {
+            case 1: return "1st";
+            case 2: return "2nd";
+            case 3: return "3rd";
+            default: return place + "th";
+        }
+    }
+
+    private static final class Stats {
+        final long[] playerPlaces = new long[fieldSize];
+        // [band speed][posisi finish 1..PLACE_COLUMNS], semua kuda dihitung, bukan hanya player
+        final long[][] bandPlaces = new long[MAX_SPEED / BAND_WIDTH + 1][PLACE_COLUMNS];
+        // semua kuda per band, termasuk yang finish di luar PLACE_COLUMNS
+        final long[] bandTotals = new long[MAX_SPEED / BAND_WIDTH + 1];
+
+        void record(int place, int speed, boolean player) {
+            if (player) {
+                playerPlaces[place - 1]++;
+            }
+            int band = Math.min(speed / BAND_WIDTH, bandPlaces.length - 1);
+            bandTotals[band]++;
+            if (place <= PLACE_COLUMNS) {
+                bandPlaces[band][place - 1]++;
+            }
+        }
+
+        void merge(Stats other) {
+            for (int i = 0; i < playerPlaces.length; i++) {
+                playerPlaces[i] += other.playerPlaces[i];
+            }
+            for (int b = 0; b < bandPlaces.length; b++) {
+                bandTotals[b] += other.bandTotals[b];
+                for (int p = 0; p < bandPlaces[b].length; p++) {
+                    bandPlaces[b][p] += other.bandPlaces[b][p];
+                }
+            }
+        }
+    }
+
+    private static final class BatchTask extends RecursiveTask<Stats> {
+        private final int from;
+        private final int to;
+
+        BatchTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                BatchTask left = new BatchTask(from, mid);
+                left.fork();
+                Stats stats = new BatchTask(mid, to).compute();
+                stats.merge(left.join());
+                return stats;
+            }
+
+            Stats stats = new Stats();
+            for (int i = from; i < to; i++) {
+                if (fieldSize == RaceField.NUM_COMPETITORS) {
+                    runGameRace(stats, seed + i);
+                } else {
+                    runLargeFieldRace(stats, seed + i);
+                }
+            }
+            return stats;
+        }
+
+        // field dibuat persis seperti RacePanel.initializeRace, seed per balapan
+        private void runGameRace(Stats stats, long raceSeed) {
+            RaceField field = RaceField.create("Player", playerSpeed, minCompetitorSpeed,
+                                               competitorSpeedRange, raceSeed);
+            RaceEngine engine = new RaceEngine(field.getHorses(), trackLength);
+            engine.runToCompletion();
+
+            List<RaceHorse> order = engine.getFinishOrder();
+            for (int place = 1; place <= order.size(); place++) {
+                RaceHorse horse = order.get(place - 1);
+                stats.record(place, horse.getSpeed(), horse.isPlayer());
+            }
+        }
+
+        // ratusan kuda: state array primitif, tanpa objek RaceHorse per kuda
+        private void runLargeFieldRace(Stats stats, long raceSeed) {
+            LargeFieldRace race = LargeFieldRace.create(playerSpeed, fieldSize, minCompetitorSpeed,
+                                                        competitorSpeedRange, trackLength, raceSeed);
+            race.runToCompletion();
+            for (int place = 1; place <= race.size(); place++) {
+                int horse = race.getHorseAtPlace(place);
+                stats.record(place, race.getSpeed(horse), horse == race.getPlayerIndex());
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Urutan finish tanpa lock: peringkat diambil dari counter atomik, kuda ditulis ke slot yang sudah dialokasikan.
+// Pembaca (EDT) cukup maju dengan cursor sendiri dan hanya membaca slot yang baru terisi.
+public class FinishBoard {
+
+    private final AtomicInteger rank = new AtomicInteger();
+    private final AtomicReferenceArray<RaceHorse> slots;
+
+    public FinishBoard(int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    // return posisi finish (mulai dari 1)
+    public int record(RaceHorse horse) {
+        int place = rank.incrementAndGet();
+        if (place > slots.length()) {
+            throw new IllegalStateException("More finishers than the board holds: " + place);
+        }
+        slots.set(place - 1, horse);
+        return place;
+    }
+
+    // null kalau posisi ini belum finish atau slotnya belum terpublikasi
+    public RaceHorse get(int index) {
+        return index < slots.length() ? slots.get(index) : null;
+    }
+
+    // jumlah entri berurutan yang sudah bisa dibaca
+    public int size() {
+        int count = 0;
+        while (count < slots.length() && slots.get(count) != null) {
+            count++;
+        }
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return slots.length() == 0 || slots.get(0) == null;
+    }
+
+    public List<RaceHorse> toList() {
+        int count = size();
+        List<RaceHorse> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(slots.get(i));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // hanya boleh dipanggil saat tidak ada balapan yang sedang menulis
+    public void reset() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+        rank.set(0);
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,244 @@
+package model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Mode field besar (ratusan kuda): state disimpan sebagai array primitif, bukan objek RaceHorse,
+// jadi satu tick hanya loop di atas int[] tanpa alokasi. Aturan langkah dan seri sama dengan RaceEngine.
+public class LargeFieldRace {
+
+    private final int size;
+    private final int trackLength;
+    private final int[] positions;
+    private final int[] speeds;
+    private final int[] finishRanks;
+    private final int[] finishTicks;
+    private final long[] finishTimeNanos;
+    private final long tickNanos;
+    private final int[] lanes;
+    private final SplittableRandom[] randoms;
+    private final int playerIndex;
+    private final int[] finishedThisTick;
+    private final int[] finishOrder;
+    private final HorseView[] views;
+    private int finishedCount;
+    private int tickCount;
+
+    public LargeFieldRace(int[] speeds, int playerIndex, int trackLength, long seed) {
+        this(speeds, playerIndex, trackLength, RaceEngine.DEFAULT_TICK_MS, seed);
+    }
+
+    public LargeFieldRace(int[] speeds, int playerIndex, int trackLength, int tickMillis, long seed) {
+        if (speeds.length == 0) {
+            throw new IllegalArgumentException("Race needs at least one horse");
+        }
+        if (trackLength <= 0) {
+            throw new IllegalArgumentException("Track length must be positive");
+        }
+        this.size = speeds.length;
+        this.trackLength = trackLength;
+        this.speeds = speeds.clone();
+        this.playerIndex = playerIndex;
+        this.positions = new int[size];
+        this.finishRanks = new int[size];
+        this.finishTicks = new int[size];
+        this.finishTimeNanos = new long[size];
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.lanes = new int[size];
+        this.finishedThisTick = new int[size];
+        this.finishOrder = new int[size];
+        this.randoms = new SplittableRandom[size];
+        this.views = new HorseView[size];
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom laneRandom = root.split();
+        for (int i = 0; i < size; i++) {
+            randoms[i] = root.split();
+            lanes[i] = i;
+            views[i] = new HorseView(i);
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = laneRandom.nextInt(i + 1);
+            int tmp = lanes[i];
+            lanes[i] = lanes[j];
+            lanes[j] = tmp;
+        }
+    }
+
+    // field besar dengan aturan yang sama seperti RaceField: player di index 0, lawan speed 40-79
+    public static LargeFieldRace create(int playerSpeed, int fieldSize, int trackLength, long seed) {
+        return create(playerSpeed, fieldSize, RaceField.MIN_COMPETITOR_SPEED, RaceField.COMPETITOR_SPEED_RANGE,
+                      trackLength, seed);
+    }
+
+    // rentang speed lawan bisa diatur, sama seperti RaceField.create untuk SimulationApp
+    public static LargeFieldRace create(int playerSpeed, int fieldSize, int minCompetitorSpeed,
+                                        int competitorSpeedRange, int trackLength, long seed) {
+        SplittableRandom speedRandom = new SplittableRandom(~seed);
+        int[] speeds = new int[fieldSize];
+        speeds[0] = playerSpeed;
+        for (int i = 1; i < fieldSize; i++) {
+            speeds[i] = minCompetitorSpeed + speedRandom.nextInt(competitorSpeedRange);
+        }
+        return new LargeFieldRace(speeds, 0, trackLength, seed);
+    }
+
+    // return false kalau semua kuda sudah finish
+    public boolean tick() {
+        if (finishedCount == size) {
+            return false;
+        }
+
+        int crossed = 0;
+        for (int i = 0; i < size; i++) {
+            if (finishRanks[i] != 0) continue;
+
+            int previous = positions[i];
+            int position = previous + RaceHorse.stride(randoms[i], speeds[i]);
+            positions[i] = position;
+            if (position >= trackLength) {
+                finishTimeNanos[i] = RaceEngine.finishTimeNanos(tickCount + 1, previous, position, trackLength, tickNanos);
+                finishedThisTick[crossed++] = i;
+            }
+        }
+        tickCount++;
+
+        // insertion sort: waktu finish tercepat dulu, seri = index lebih kecil (stabil)
+        for (int a = 1; a < crossed; a++) {
+            int horse = finishedThisTick[a];
+            int b = a - 1;
+            while (b >= 0 && finishTimeNanos[finishedThisTick[b]] > finishTimeNanos[horse]) {
+                finishedThisTick[b + 1] = finishedThisTick[b];
+                b--;
+            }
+            finishedThisTick[b + 1] = horse;
+        }
+
+        for (int a = 0; a < crossed; a++) {
+            recordFinish(finishedThisTick[a]);
+        }
+        return finishedCount < size;
+    }
+
+    private void recordFinish(int horse) {
+        finishOrder[finishedCount] = horse;
+        finishedCount++;
+        finishRanks[horse] = finishedCount;
+        finishTicks[horse] = tickCount;
+    }
+
+    public void runToCompletion() {
+        while (tick()) {
+            // tick sampai selesai
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getTrackLength() {
+        return trackLength;
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    public int getFinishedCount() {
+        return finishedCount;
+    }
+
+    public boolean isComplete() {
+        return finishedCount == size;
+    }
+
+    public int getPlayerIndex() {
+        return playerIndex;
+    }
+
+    public int getPosition(int horse) {
+        return positions[horse];
+    }
+
+    public int getSpeed(int horse) {
+        return speeds[horse];
+    }
+
+    public int getLane(int horse) {
+        return lanes[horse];
+    }
+
+    // 0 = belum finish
+    public int getFinishRank(int horse) {
+        return finishRanks[horse];
+    }
+
+    public int getFinishTick(int horse) {
+        return finishTicks[horse];
+    }
+
+    public long getFinishTimeNanos(int horse) {
+        return finishTimeNanos[horse];
+    }
+
+    // index kuda yang finish di urutan ke-`place` (mulai dari 1)
+    public int getHorseAtPlace(int place) {
+        if (place < 1 || place > finishedCount) {
+            throw new IndexOutOfBoundsException("No horse has finished at place " + place);
+        }
+        return finishOrder[place - 1];
+    }
+
+    // salin posisi ke buffer milik pemanggil, tanpa alokasi
+    public void copyPositions(int[] target) {
+        System.arraycopy(positions, 0, target, 0, size);
+    }
+
+    // view Movable untuk kode yang masih bekerja per kuda, objeknya dibuat sekali di awal
+    public Movable getHorse(int horse) {
+        return views[horse];
+    }
+
+    private final class HorseView implements Movable {
+        private final int index;
+
+        HorseView(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void move() {
+            positions[index] += RaceHorse.stride(randoms[index], speeds[index]);
+        }
+
+        @Override
+        public int getPosition() {
+            return positions[index];
+        }
+
+        @Override
+        public void setPosition(int position) {
+            positions[index] = position;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finishRanks[index] != 0;
+        }
+
+        @Override
+        public void setFinished(boolean finished) {
+            if (finished && finishRanks[index] == 0) {
+                finishTimeNanos[index] = (long) tickCount * tickNanos;
+                recordFinish(index);
+            } else if (!finished && finishRanks[index] != 0) {
+                throw new IllegalStateException("A ranked horse cannot be un-finished");
+            }
+        }
+    }
+}
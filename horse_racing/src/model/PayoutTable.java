@@ -0,0 +1,17 @@
+package model;
+
+// Hadiah koin per posisi finish, dipakai oleh balapan sungguhan dan simulasi
+public final class PayoutTable {
+
+    private static final int[] COINS_BY_PLACE = {100, 50, 25};
+
+    private PayoutTable() {
+    }
+
+    public static int coinsForPlace(int place) {
+        if (place < 1 || place > COINS_BY_PLACE.length) {
+            return 0;
+        }
+        return COINS_BY_PLACE[place - 1];
+    }
+}
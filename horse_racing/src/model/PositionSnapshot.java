@@ -0,0 +1,106 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+// Salinan posisi seluruh field yang dipublikasi engine sekali per tick, plus posisi tick sebelumnya
+// supaya renderer bisa menggambar di antara dua tick.
+// Pembaca memakai optimistic read StampedLock (seqlock): salin, lalu validasi; kalau bentrok dengan
+// penulisan, ulangi. Hasilnya selalu satu frame utuh dari tick yang sama, tanpa membuat pembaca menunggu.
+public class PositionSnapshot {
+
+    private static final int OPTIMISTIC_ATTEMPTS = 4;
+
+    private final StampedLock lock = new StampedLock();
+    private final int[] positions;
+    private final int[] previous;
+    private int tick;
+
+    public PositionSnapshot(int size) {
+        this.positions = new int[size];
+        this.previous = new int[size];
+    }
+
+    // dipanggil thread engine di akhir tick
+    public void publish(int tickNumber, List<RaceHorse> horses) {
+        long stamp = lock.writeLock();
+        try {
+            System.arraycopy(positions, 0, previous, 0, positions.length);
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = horses.get(i).getPosition();
+            }
+            tick = tickNumber;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // salin frame terakhir ke buffer milik pemanggil, return nomor tick frame tersebut
+    public int copyTo(int[] target) {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp == 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            System.arraycopy(positions, 0, target, 0, positions.length);
+            int copiedTick = tick;
+            if (lock.validate(stamp)) {
+                return copiedTick;
+            }
+        }
+
+        // engine sedang menulis terus-menerus, ambil read lock sekali saja
+        long stamp = lock.readLock();
+        try {
+            System.arraycopy(positions, 0, target, 0, positions.length);
+            return tick;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // posisi pada waktu jam `clockNanos`, linear antara tick sebelumnya dan tick terakhir.
+    // Tick ke-n dijalankan di (n-1) * tickNanos dan digambar penuh di n * tickNanos, jadi gambar
+    // tertinggal paling lama satu tick tapi bergerak halus berapa pun frame rate-nya.
+    public int interpolateTo(int[] target, long clockNanos, long tickNanos) {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp == 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int copiedTick = tick;
+            interpolate(target, copiedTick, clockNanos, tickNanos);
+            if (lock.validate(stamp)) {
+                return copiedTick;
+            }
+        }
+
+        long stamp = lock.readLock();
+        try {
+            interpolate(target, tick, clockNanos, tickNanos);
+            return tick;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void interpolate(int[] target, int atTick, long clockNanos, long tickNanos) {
+        long elapsed = clockNanos - (atTick - 1) * tickNanos;
+        if (atTick == 0 || elapsed >= tickNanos) {
+            System.arraycopy(positions, 0, target, 0, positions.length);
+            return;
+        }
+        if (elapsed < 0) {
+            elapsed = 0;
+        }
+        for (int i = 0; i < positions.length; i++) {
+            target[i] = previous[i] + (int) ((positions[i] - previous[i]) * elapsed / tickNanos);
+        }
+    }
+
+    public int size() {
+        return positions.length;
+    }
+}
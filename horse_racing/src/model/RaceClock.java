@@ -0,0 +1,70 @@
+package model;
+
+// Jam balapan: waktu simulasi = waktu nyata x skala, bisa di-pause.
+// Tick engine, posisi label dan frame GIF semuanya membaca jam yang sama.
+public class RaceClock {
+
+    private long baseNanos;
+    private long anchorNanos;
+    private double scale;
+    private boolean paused;
+
+    public RaceClock() {
+        this(1.0);
+    }
+
+    public RaceClock(double scale) {
+        if (scale <= 0) {
+            throw new IllegalArgumentException("Time scale must be positive");
+        }
+        this.scale = scale;
+        this.anchorNanos = System.nanoTime();
+    }
+
+    // waktu simulasi sejak jam dibuat
+    public synchronized long now() {
+        if (paused) {
+            return baseNanos;
+        }
+        return baseNanos + (long) ((System.nanoTime() - anchorNanos) * scale);
+    }
+
+    // waktu yang sudah lewat dikunci dulu, baru skala baru berlaku dari titik ini
+    public synchronized void setScale(double newScale) {
+        if (newScale <= 0) {
+            throw new IllegalArgumentException("Time scale must be positive");
+        }
+        rebase();
+        scale = newScale;
+    }
+
+    public synchronized void pause() {
+        if (!paused) {
+            rebase();
+            paused = true;
+        }
+    }
+
+    public synchronized void resume() {
+        if (paused) {
+            anchorNanos = System.nanoTime();
+            paused = false;
+        }
+    }
+
+    private void rebase() {
+        long realNow = System.nanoTime();
+        if (!paused) {
+            baseNanos += (long) ((realNow - anchorNanos) * scale);
+        }
+        anchorNanos = realNow;
+    }
+
+    public synchronized double getScale() {
+        return scale;
+    }
+
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+}
@@ -0,0 +1,258 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+// Simulasi balapan tanpa Swing: semua kuda digerakkan dalam satu tick dengan timestep tetap
+public class RaceEngine {
+
+    public static final int DEFAULT_TICK_MS = 30;
+    private static final Comparator<RaceHorse> BY_FINISH_TIME = Comparator.comparingLong(RaceHorse::getFinishTimeNanos);
+
+    // satu thread scheduler dipakai bersama oleh semua balapan
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "race-engine");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public interface RaceListener {
+        default void onTick(int tick) {}
+
+        default void onHorseFinished(RaceHorse horse, int place) {}
+
+        default void onRaceComplete(List<RaceHorse> finishOrder) {}
+    }
+
+    private final List<RaceHorse> horses;
+    private final int trackLength;
+    private final int tickMillis;
+    private final long tickNanos;
+    private final List<RaceHorse> finishOrder;
+    private final List<RaceHorse> finishedThisTick;
+    // array copy-on-write: loop per tick tidak membuat iterator
+    private volatile RaceListener[] listeners = new RaceListener[0];
+    private final PositionSnapshot snapshot;
+    private int tickCount;
+    private volatile boolean complete;
+    private ScheduledFuture<?> task;
+    // selisih jarak bangun scheduler dari tickMillis (nanodetik), null = tidak diukur
+    private volatile LongConsumer tickJitterObserver;
+    private long lastWakeNanos;
+
+    public RaceEngine(List<RaceHorse> horses, int trackLength) {
+        this(horses, trackLength, DEFAULT_TICK_MS);
+    }
+
+    public RaceEngine(List<RaceHorse> horses, int trackLength, int tickMillis) {
+        if (horses.isEmpty()) {
+            throw new IllegalArgumentException("Race needs at least one horse");
+        }
+        if (trackLength <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("Track length and tick must be positive");
+        }
+        this.horses = new ArrayList<>(horses);
+        this.trackLength = trackLength;
+        this.tickMillis = tickMillis;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.finishOrder = new ArrayList<>(horses.size());
+        this.finishedThisTick = new ArrayList<>(horses.size());
+        this.snapshot = new PositionSnapshot(horses.size());
+        snapshot.publish(0, this.horses);
+    }
+
+    public synchronized void addListener(RaceListener listener) {
+        RaceListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[updated.length - 1] = listener;
+        listeners = updated;
+    }
+
+    public synchronized void removeListener(RaceListener listener) {
+        RaceListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                RaceListener[] updated = new RaceListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    public void setTickJitterObserver(LongConsumer observer) {
+        this.tickJitterObserver = observer;
+    }
+
+    // gerakkan semua kuda satu langkah, return false kalau balapan sudah selesai
+    public synchronized boolean tick() {
+        if (complete) {
+            return false;
+        }
+        tickCount++;
+
+        // loop index, bukan for-each: tick jalan ratusan kali per balapan dan tidak boleh alokasi
+        finishedThisTick.clear();
+        for (int i = 0; i < horses.size(); i++) {
+            RaceHorse horse = horses.get(i);
+            if (horse.isFinished()) continue;
+
+            int previousPosition = horse.getPosition();
+            horse.move();
+            if (horse.getPosition() >= trackLength) {
+                horse.setFinished(true);
+                horse.setFinishTimeNanos(finishTimeNanos(tickCount, previousPosition, horse.getPosition(),
+                                                         trackLength, tickNanos));
+                finishedThisTick.add(horse);
+            }
+        }
+
+        // renderer membaca posisi dari sini, bukan langsung dari RaceHorse
+        snapshot.publish(tickCount, horses);
+
+        // kuda yang finish di tick yang sama diurutkan dari waktu finish; waktu sama = urutan di list horses
+        // (sort stabil, index kuda, bukan lane). WinOddsEstimator memakai aturan yang sama
+        if (finishedThisTick.size() > 1) {
+            finishedThisTick.sort(BY_FINISH_TIME);
+        }
+
+        RaceListener[] current = listeners;
+        for (RaceListener listener : current) {
+            listener.onTick(tickCount);
+        }
+
+        for (int i = 0; i < finishedThisTick.size(); i++) {
+            RaceHorse horse = finishedThisTick.get(i);
+            finishOrder.add(horse);
+            int place = finishOrder.size();
+            for (RaceListener listener : current) {
+                listener.onHorseFinished(horse, place);
+            }
+        }
+
+        if (finishOrder.size() == horses.size()) {
+            complete = true;
+            cancelTask();
+            List<RaceHorse> result = getFinishOrder();
+            for (RaceListener listener : listeners) {
+                listener.onRaceComplete(result);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    // Gerakan dalam satu tick dianggap linear, jadi titik garis finish bisa dihitung dari sisa jarak:
+    // tick sebelumnya + (sisa jarak / panjang langkah) * lama tick. Integer supaya hasilnya deterministik.
+    public static long finishTimeNanos(int tick, int previousPosition, int newPosition, int trackLength, long tickNanos) {
+        long remaining = trackLength - previousPosition;
+        long stride = newPosition - previousPosition;
+        return (tick - 1) * tickNanos + remaining * tickNanos / stride;
+    }
+
+    // jalankan sampai semua kuda finish tanpa menunggu scheduler
+    public void runToCompletion() {
+        while (tick()) {
+            // tick sampai selesai
+        }
+    }
+
+    public void start() {
+        start(new RaceClock());
+    }
+
+    // scheduler bangun tiap tickMillis waktu nyata lalu mengejar semua tick yang sudah jatuh tempo
+    // menurut jam: 10x = 10 tick per bangun, 0.5x = tiap dua kali bangun, pause = tidak ada tick
+    public synchronized void start(RaceClock clock) {
+        if (task != null || complete) {
+            return;
+        }
+        lastWakeNanos = 0;
+        task = SCHEDULER.scheduleAtFixedRate(() -> {
+            try {
+                recordWake();
+                advanceTo(clock.now());
+            } catch (RuntimeException e) {
+                // exception yang lolos akan menghentikan jadwal tanpa pesan
+                e.printStackTrace();
+                stop();
+            }
+        }, 0, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // tick pertama jatuh di waktu 0, tick ke-n di (n-1) * tickNanos
+    public synchronized void advanceTo(long clockNanos) {
+        long due = clockNanos / tickNanos + 1;
+        while (tickCount < due && tick()) {
+            // kejar sampai tick yang jatuh tempo
+        }
+    }
+
+    // hanya dari thread scheduler
+    private void recordWake() {
+        LongConsumer observer = tickJitterObserver;
+        if (observer == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (lastWakeNanos != 0) {
+            observer.accept(now - lastWakeNanos - tickNanos);
+        }
+        lastWakeNanos = now;
+    }
+
+    public synchronized void stop() {
+        cancelTask();
+    }
+
+    private void cancelTask() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    public List<RaceHorse> getHorses() {
+        return Collections.unmodifiableList(horses);
+    }
+
+    public synchronized List<RaceHorse> getFinishOrder() {
+        return Collections.unmodifiableList(new ArrayList<>(finishOrder));
+    }
+
+    public PositionSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public int getTrackLength() {
+        return trackLength;
+    }
+
+    public int getTickMillis() {
+        return tickMillis;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    public synchronized int getTickCount() {
+        return tickCount;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public synchronized boolean isRunning() {
+        return task != null;
+    }
+}
@@ -0,0 +1,94 @@
+package model;
+
+// Satu slot di RaceEventBus. Objeknya dipakai ulang: consumer hanya boleh membaca isinya
+// selama onEvent berjalan. Referensi horse/history boleh disimpan (objeknya sendiri tidak dipakai ulang),
+// field slot lainnya harus disalin.
+public final class RaceEvent {
+
+    public enum Type {
+        TICK,
+        FINISH,
+        COMPLETE,
+        SETTLEMENT
+    }
+
+    private Type type;
+    private int tick;
+    private RaceHorse horse;
+    private int place;
+    private RaceHistory history;
+    // sequence ring yang isinya sedang ada di slot ini, -1 selama producer menulis
+    private volatile long sequence = -1;
+
+    RaceEvent() {
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    void copyFrom(RaceEvent other) {
+        type = other.type;
+        tick = other.tick;
+        horse = other.horse;
+        place = other.place;
+        history = other.history;
+    }
+
+    void clear() {
+        type = null;
+        tick = 0;
+        horse = null;
+        place = 0;
+        history = null;
+    }
+
+    void setTick(int tick) {
+        this.type = Type.TICK;
+        this.tick = tick;
+    }
+
+    void setFinish(RaceHorse horse, int place) {
+        this.type = Type.FINISH;
+        this.horse = horse;
+        this.place = place;
+    }
+
+    void setComplete(int tick) {
+        this.type = Type.COMPLETE;
+        this.tick = tick;
+    }
+
+    void setSettlement(RaceHistory history) {
+        this.type = Type.SETTLEMENT;
+        this.history = history;
+        this.place = history.getPosition();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    // FINISH
+    public RaceHorse getHorse() {
+        return horse;
+    }
+
+    // FINISH dan SETTLEMENT, mulai dari 1
+    public int getPlace() {
+        return place;
+    }
+
+    // SETTLEMENT
+    public RaceHistory getHistory() {
+        return history;
+    }
+}
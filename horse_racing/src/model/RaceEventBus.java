@@ -0,0 +1,237 @@
+package model;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Ring buffer event balapan: satu producer, banyak consumer, semua slot RaceEvent dialokasikan di awal.
+// Producer cukup satu dalam satu waktu: thread engine selama balapan, lalu EDT untuk settlement
+// setelah event COMPLETE diterima. Tiap consumer punya sequence sendiri dan memproses per batch.
+// Consumer biasa menahan producer kalau ring penuh (event tidak boleh hilang, mis. settlement).
+// Consumer non-blocking (UI, suara) tidak pernah menahan producer: kalau tertinggal, event lama dilewati.
+// Karena slotnya bisa sedang ditimpa, consumer non-blocking menyalin isi slot ke event miliknya sendiri
+// lalu mengecek ulang sequence slot (seqlock); salinan yang tidak cocok dibuang.
+public class RaceEventBus {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // consumer di luar EDT (suara, database) dikuras oleh satu thread bersama
+    private static final ScheduledExecutorService DRAINER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "race-events");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public interface EventHandler {
+        // endOfBatch = event terakhir yang tersedia saat drain ini, tempat yang pas untuk flush
+        void onEvent(RaceEvent event, boolean endOfBatch);
+    }
+
+    public final class Subscription {
+        private final AtomicLong sequence;
+        private final boolean blocking;
+        // salinan slot untuk consumer non-blocking, handler tidak pernah menerima slot ring langsung
+        private final RaceEvent copy;
+        private ScheduledFuture<?> task;
+        private EventHandler backgroundHandler;
+
+        private Subscription(long start, boolean blocking) {
+            this.sequence = new AtomicLong(start);
+            this.blocking = blocking;
+            this.copy = blocking ? null : new RaceEvent();
+        }
+
+        // proses semua event yang sudah dipublikasi, return jumlah yang sampai ke handler.
+        // synchronized: close() bisa menguras dari thread lain saat thread DRAINER masih jalan
+        public synchronized int drain(EventHandler handler) {
+            long available = cursor.get();
+            long current = sequence.get();
+            if (current >= available) {
+                return 0;
+            }
+            //non-blocking: slot yang sudah (atau hampir) ditimpa producer dilewati, sisakan setengah ring
+            if (!blocking && available - current > ring.length / 2) {
+                current = available - ring.length / 2;
+            }
+            int handled = 0;
+            long seq = current;
+            try {
+                while (seq < available) {
+                    seq++;
+                    RaceEvent event = blocking ? ring[(int) (seq & mask)] : copySlot(seq);
+                    if (event != null) {
+                        handler.onEvent(event, seq == available);
+                        handled++;
+                    }
+                }
+            } finally {
+                // juga saat handler melempar exception: event yang gagal tidak diulang dan ring tidak macet.
+                // Slot baru boleh ditimpa producer setelah sequence maju
+                sequence.set(seq);
+            }
+            return handled;
+        }
+
+        // null kalau slotnya sudah ditimpa producer sebelum atau selama disalin
+        private RaceEvent copySlot(long seq) {
+            RaceEvent slot = ring[(int) (seq & mask)];
+            if (slot.getSequence() != seq) {
+                return null;
+            }
+            copy.copyFrom(slot);
+            //isi slot harus sudah terbaca sebelum sequence dicek ulang
+            VarHandle.loadLoadFence();
+            return slot.getSequence() == seq ? copy : null;
+        }
+
+        // subscriber background menguras sisa event dulu, jadi settlement yang masih antri tetap ditulis
+        public void close() {
+            if (task != null) {
+                task.cancel(false);
+            }
+            if (backgroundHandler != null) {
+                try {
+                    drain(backgroundHandler);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+            removeSubscription(this);
+        }
+    }
+
+    private final RaceEvent[] ring;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    // array biasa (bukan list) supaya cek wrap di claim() tidak membuat iterator
+    private volatile Subscription[] subscriptions = new Subscription[0];
+
+    public RaceEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RaceEventBus(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        this.ring = new RaceEvent[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new RaceEvent();
+        }
+    }
+
+    // consumer hanya menerima event yang dipublikasi setelah subscribe
+    public Subscription subscribe() {
+        return addSubscription(true);
+    }
+
+    // untuk consumer di EDT atau yang boleh kehilangan event lama; handler-nya cukup membaca tipe event
+    public Subscription subscribeNonBlocking() {
+        return addSubscription(false);
+    }
+
+    private synchronized Subscription addSubscription(boolean blocking) {
+        Subscription subscription = new Subscription(cursor.get(), blocking);
+        Subscription[] updated = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        updated[updated.length - 1] = subscription;
+        subscriptions = updated;
+        return subscription;
+    }
+
+    private synchronized void removeSubscription(Subscription subscription) {
+        Subscription[] current = subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscription) {
+                Subscription[] updated = new Subscription[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                subscriptions = updated;
+                return;
+            }
+        }
+    }
+
+    public Subscription subscribeInBackground(EventHandler handler, int periodMillis) {
+        return drainInBackground(subscribe(), handler, periodMillis);
+    }
+
+    public Subscription subscribeNonBlockingInBackground(EventHandler handler, int periodMillis) {
+        return drainInBackground(subscribeNonBlocking(), handler, periodMillis);
+    }
+
+    private Subscription drainInBackground(Subscription subscription, EventHandler handler, int periodMillis) {
+        subscription.backgroundHandler = handler;
+        subscription.task = DRAINER.scheduleWithFixedDelay(() -> {
+            try {
+                subscription.drain(handler);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        return subscription;
+    }
+
+    public void publishTick(int tick) {
+        RaceEvent event = claim();
+        event.setTick(tick);
+        publish();
+    }
+
+    public void publishFinish(RaceHorse horse, int place) {
+        RaceEvent event = claim();
+        event.setFinish(horse, place);
+        publish();
+    }
+
+    public void publishComplete(int tick) {
+        RaceEvent event = claim();
+        event.setComplete(tick);
+        publish();
+    }
+
+    public void publishSettlement(RaceHistory history) {
+        RaceEvent event = claim();
+        event.setSettlement(history);
+        publish();
+    }
+
+    // slot berikutnya; kalau consumer blocking paling lambat masih di putaran sebelumnya, tunggu sebentar
+    private RaceEvent claim() {
+        long next = cursor.get() + 1;
+        long wrapPoint = next - ring.length;
+        while (wrapPoint > slowestSequence()) {
+            Thread.yield();
+        }
+        RaceEvent event = ring[(int) (next & mask)];
+        //tandai sedang ditulis dulu, consumer non-blocking yang sedang menyalin akan membuang salinannya
+        event.setSequence(-1);
+        VarHandle.storeStoreFence();
+        event.clear();
+        return event;
+    }
+
+    private void publish() {
+        long next = cursor.get() + 1;
+        ring[(int) (next & mask)].setSequence(next);
+        cursor.set(next);
+    }
+
+    private long slowestSequence() {
+        long slowest = Long.MAX_VALUE;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.blocking) {
+                slowest = Math.min(slowest, subscription.sequence.get());
+            }
+        }
+        return slowest;
+    }
+
+    public long getPublishedCount() {
+        return cursor.get() + 1;
+    }
+}
@@ -0,0 +1,115 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Susunan peserta satu balapan. Semua yang acak (speed lawan, lane, langkah tiap kuda)
+// diturunkan dari satu seed, jadi balapan bisa diulang persis dari seed-nya.
+public class RaceField {
+
+    public static final int NUM_COMPETITORS = 5;
+    public static final int MIN_COMPETITOR_SPEED = 40;
+    public static final int COMPETITOR_SPEED_RANGE = 40;
+    //lintasan di RacePanel = lebar canvas dikurangi start + ruang setelah garis finish, minimal MIN_TRACK_LENGTH
+    public static final int TRACK_SIDE_MARGINS = 200;
+    public static final int MIN_TRACK_LENGTH = 400;
+    //lebar canvas di jendela game yang dimaksimalkan pada layar 1920 piksel (dikurangi panel hasil 140)
+    private static final int TYPICAL_CANVAS_WIDTH = 1780;
+    public static final int TYPICAL_TRACK_LENGTH = trackLengthForWidth(TYPICAL_CANVAS_WIDTH);
+
+    private static final String[] HORSE_NAMES = {"Cuki", "Suki", "Oming", "Mujaer", "Jaki"};
+
+    private final long seed;
+    private final List<RaceHorse> horses;
+    private final int[] laneMappings;
+
+    private RaceField(long seed, List<RaceHorse> horses, int[] laneMappings) {
+        this.seed = seed;
+        this.horses = horses;
+        this.laneMappings = laneMappings;
+    }
+
+    public static int trackLengthForWidth(int canvasWidth) {
+        return Math.max(MIN_TRACK_LENGTH, canvasWidth - TRACK_SIDE_MARGINS);
+    }
+
+    public static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    public static RaceField create(Horse playerHorse, long seed) {
+        return create(playerHorse.getName(), playerHorse.calculateRaceSpeed(), seed);
+    }
+
+    public static RaceField create(String playerName, int playerSpeed, long seed) {
+        return create(playerName, playerSpeed, MIN_COMPETITOR_SPEED, COMPETITOR_SPEED_RANGE, seed);
+    }
+
+    // rentang speed lawan bisa diatur, dipakai simulasi untuk menyetel keseimbangan game
+    public static RaceField create(String playerName, int playerSpeed, int minCompetitorSpeed,
+                                   int competitorSpeedRange, long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom fieldRandom = root.split();
+
+        List<RaceHorse> horses = new ArrayList<>(NUM_COMPETITORS);
+        horses.add(new RaceHorse(playerName, "", playerSpeed, true));
+        for (int i = 1; i < NUM_COMPETITORS; i++) {
+            int randomSpeed = minCompetitorSpeed + fieldRandom.nextInt(competitorSpeedRange);
+            horses.add(new RaceHorse(HORSE_NAMES[i], "", randomSpeed, false));
+        }
+
+        return assemble(seed, root, fieldRandom, horses);
+    }
+
+    // field dengan peserta yang sudah ditentukan (mis. heat turnamen); lane dan langkah tetap dari seed
+    public static RaceField fromEntrants(String[] names, int[] speeds, int playerIndex, long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom fieldRandom = root.split();
+
+        List<RaceHorse> horses = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            horses.add(new RaceHorse(names[i], "", speeds[i], i == playerIndex));
+        }
+        return assemble(seed, root, fieldRandom, horses);
+    }
+
+    private static RaceField assemble(long seed, SplittableRandom root, SplittableRandom fieldRandom,
+                                      List<RaceHorse> horses) {
+        // tiap kuda dapat stream sendiri supaya tidak berebut satu Random
+        for (RaceHorse horse : horses) {
+            horse.setRandom(root.split());
+        }
+
+        int[] lanes = new int[horses.size()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = i;
+        }
+        for (int i = lanes.length - 1; i > 0; i--) {
+            int j = fieldRandom.nextInt(i + 1);
+            int tmp = lanes[i];
+            lanes[i] = lanes[j];
+            lanes[j] = tmp;
+        }
+
+        return new RaceField(seed, Collections.unmodifiableList(horses), lanes);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<RaceHorse> getHorses() {
+        return horses;
+    }
+
+    public int getLane(int horseIndex) {
+        return laneMappings[horseIndex];
+    }
+
+    public int size() {
+        return horses.size();
+    }
+}
@@ -12,6 +12,12 @@ public class RaceHistory extends BaseEntity {
     private int totalHorses;
     private int coinsEarned;
     private String timestamp;
+    private long seed;
+    private int trackLength;
+    private int playerSpeed;
+    // id + race_date dari database, kunci urutan untuk halaman history berikutnya
+    private int id;
+    private Timestamp raceDate;
     
     public RaceHistory(int userId, String horseName, int position, int totalHorses, int coinsEarned) {
         this.userId = userId;
@@ -22,6 +28,15 @@ public class RaceHistory extends BaseEntity {
         this.timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
     }
     
+    // seed + panjang track + speed player cukup untuk mensimulasikan ulang balapan
+    public RaceHistory(int userId, String horseName, int position, int totalHorses, int coinsEarned,
+                       long seed, int trackLength, int playerSpeed) {
+        this(userId, horseName, position, totalHorses, coinsEarned);
+        this.seed = seed;
+        this.trackLength = trackLength;
+        this.playerSpeed = playerSpeed;
+    }
+    
     @Override
     public String getName() {
         return horseName;
@@ -52,11 +67,41 @@ public class RaceHistory extends BaseEntity {
         return coinsEarned;
     }
     
+    public long getSeed() {
+        return seed;
+    }
+    
+    public int getTrackLength() {
+        return trackLength;
+    }
+    
+    public int getPlayerSpeed() {
+        return playerSpeed;
+    }
+    
+    // riwayat lama (sebelum seed dicatat) tidak bisa diulang
+    public boolean isReproducible() {
+        return trackLength > 0;
+    }
+    
+    public int getId() {
+        return id;
+    }
+    
+    public void setId(int id) {
+        this.id = id;
+    }
+    
+    public Timestamp getRaceDate() {
+        return raceDate;
+    }
+    
     public String getTimestamp() {
         return timestamp;
     }
     
     public void setTimestamp(Timestamp ts) {
+        this.raceDate = ts;
         this.timestamp = ts.toLocalDateTime().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
     }
     
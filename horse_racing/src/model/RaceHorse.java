@@ -1,5 +1,7 @@
 package model;
 
+import java.util.SplittableRandom;
+
 public class RaceHorse implements Movable {
     private String name;
     private String color;
@@ -7,6 +9,8 @@ public class RaceHorse implements Movable {
     private int position;
     private boolean isPlayer;
     private boolean finished;
+    private SplittableRandom random;
+    private long finishTimeNanos;
     
     // cons rh 1
     public RaceHorse(String name, String color, int speed, boolean isPlayer) {
@@ -16,6 +20,7 @@ public class RaceHorse implements Movable {
         this.position = 0;
         this.isPlayer = isPlayer;
         this.finished = false;
+        this.random = new SplittableRandom();
     }
 
     // cons rh 2
@@ -45,10 +50,19 @@ public class RaceHorse implements Movable {
         this.position = position;
     }
     
+    // stream random milik kuda ini sendiri, biasanya hasil split dari seed balapan
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+    
     @Override
     public void move() {
-        int movement = (int) (Math.random() * (speed / 10 + 1)) + 1;
-        position += movement;
+        position += stride(random, speed);
+    }
+    
+    // jarak satu langkah: 1 sampai speed/10 + 1, dipakai juga oleh simulasi lain
+    public static int stride(SplittableRandom random, int speed) {
+        return random.nextInt(speed / 10 + 1) + 1;
     }
     
     public boolean isPlayer() {
@@ -64,4 +78,13 @@ public class RaceHorse implements Movable {
     public void setFinished(boolean finished) {
         this.finished = finished;
     }
+    
+    // waktu tepat melewati garis finish sejak start, hasil interpolasi di dalam tick
+    public long getFinishTimeNanos() {
+        return finishTimeNanos;
+    }
+    
+    public void setFinishTimeNanos(long finishTimeNanos) {
+        this.finishTimeNanos = finishTimeNanos;
+    }
 }
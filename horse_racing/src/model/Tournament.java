@@ -0,0 +1,319 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Turnamen gugur: tiap heat 5 kuda, pemenang lanjut ke ronde berikutnya.
+// Heat AI dijalankan di work-stealing pool; heat player ditahan sampai UI selesai menganimasikannya.
+// Tampilan cukup polling counter + antrian heat selesai, tidak ada callback per heat.
+public class Tournament {
+
+    public static final int HEAT_SIZE = RaceField.NUM_COMPETITORS;
+    private static final int HEATS_PER_TASK = 16;
+    private static final String[] AI_NAMES = {"Suki", "Oming", "Mujaer", "Jaki", "Cuki"};
+
+    public static final class Entrant {
+        private final String name;
+        private final int speed;
+        private final boolean player;
+
+        Entrant(String name, int speed, boolean player) {
+            this.name = name;
+            this.speed = speed;
+            this.player = player;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSpeed() {
+            return speed;
+        }
+
+        public boolean isPlayer() {
+            return player;
+        }
+    }
+
+    public static final class Heat {
+        private final int round;
+        private final int number;
+        private final Entrant[] entrants;
+        private final long seed;
+        private volatile Entrant winner;
+
+        Heat(int round, int number, Entrant[] entrants, long seed) {
+            this.round = round;
+            this.number = number;
+            this.entrants = entrants;
+            this.seed = seed;
+        }
+
+        // field balapan heat ini, sama untuk simulasi AI maupun animasi di RacePanel.
+        // Kuda ke-i di field adalah entrant ke-i, winnerOf bergantung pada urutan ini
+        public RaceField createField() {
+            String[] names = new String[entrants.length];
+            int[] speeds = new int[entrants.length];
+            int playerIndex = -1;
+            for (int i = 0; i < entrants.length; i++) {
+                names[i] = entrants[i].getName();
+                speeds[i] = entrants[i].getSpeed();
+                if (entrants[i].isPlayer()) {
+                    playerIndex = i;
+                }
+            }
+            return RaceField.fromEntrants(names, speeds, playerIndex, seed);
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public boolean hasPlayer() {
+            for (Entrant entrant : entrants) {
+                if (entrant.isPlayer()) return true;
+            }
+            return false;
+        }
+
+        public Entrant getWinner() {
+            return winner;
+        }
+
+        public boolean isComplete() {
+            return winner != null;
+        }
+    }
+
+    private final int rounds;
+    private final int trackLength;
+    private final long seed;
+    private final ForkJoinPool pool;
+    // heat yang baru selesai, dikuras oleh tampilan standings
+    private final ConcurrentLinkedQueue<Heat> completedHeats = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger heatsRemaining = new AtomicInteger();
+    private final int[] heatsPerRound;
+    private final AtomicInteger[] heatsDone;
+    private volatile int currentRound;
+    private volatile List<Heat> currentHeats = Collections.emptyList();
+    private volatile Heat playerHeat;
+    private volatile Entrant champion;
+    private volatile boolean cancelled;
+    private List<Entrant> entrants;
+
+    // jumlah peserta = 5^rounds, player + sisanya AI dengan speed 40-79
+    public Tournament(Horse playerHorse, int rounds, int trackLength, long seed) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Tournament needs at least one round");
+        }
+        this.rounds = rounds;
+        this.trackLength = trackLength;
+        this.seed = seed;
+        this.pool = ForkJoinPool.commonPool();
+        this.heatsPerRound = new int[rounds + 1];
+        this.heatsDone = new AtomicInteger[rounds + 1];
+
+        int fieldSize = entrantsFor(rounds);
+        for (int r = 1; r <= rounds; r++) {
+            fieldSize /= HEAT_SIZE;
+            heatsPerRound[r] = fieldSize;
+            heatsDone[r] = new AtomicInteger();
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int total = heatsPerRound[1] * HEAT_SIZE;
+        entrants = new ArrayList<>(total);
+        entrants.add(new Entrant(playerHorse.getName(), playerHorse.calculateRaceSpeed(), true));
+        for (int i = 1; i < total; i++) {
+            int speed = RaceField.MIN_COMPETITOR_SPEED + random.nextInt(RaceField.COMPETITOR_SPEED_RANGE);
+            entrants.add(new Entrant(AI_NAMES[i % AI_NAMES.length] + " #" + i, speed, false));
+        }
+    }
+
+    public static int entrantsFor(int rounds) {
+        int size = 1;
+        for (int r = 0; r < rounds; r++) {
+            size *= HEAT_SIZE;
+        }
+        return size;
+    }
+
+    public void start() {
+        startRound(1);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void startRound(int round) {
+        currentRound = round;
+
+        // undian heat diacak per ronde dari seed turnamen
+        SplittableRandom draw = new SplittableRandom(seed + round);
+        List<Entrant> drawn = new ArrayList<>(entrants);
+        for (int i = drawn.size() - 1; i > 0; i--) {
+            Collections.swap(drawn, i, draw.nextInt(i + 1));
+        }
+
+        List<Heat> heats = new ArrayList<>(heatsPerRound[round]);
+        Heat heatWithPlayer = null;
+        for (int h = 0; h < heatsPerRound[round]; h++) {
+            Entrant[] group = drawn.subList(h * HEAT_SIZE, (h + 1) * HEAT_SIZE).toArray(new Entrant[0]);
+            Heat heat = new Heat(round, h + 1, group, draw.nextLong());
+            heats.add(heat);
+            if (heat.hasPlayer()) {
+                heatWithPlayer = heat;
+            }
+        }
+
+        currentHeats = Collections.unmodifiableList(heats);
+        playerHeat = heatWithPlayer;
+        heatsRemaining.set(heats.size());
+
+        pool.execute(new HeatBatch(heats, 0, heats.size()));
+    }
+
+    // dipanggil UI setelah heat player selesai dianimasikan; field = hasil getPlayerHeat().createField()
+    public void completePlayerHeat(RaceField field, List<RaceHorse> finishOrder) {
+        Heat heat = playerHeat;
+        if (heat == null || heat.isComplete()) {
+            throw new IllegalStateException("No player heat is waiting for a result");
+        }
+        if (field.getSeed() != heat.seed) {
+            throw new IllegalArgumentException("Field was not created for the player's heat");
+        }
+        finishHeat(heat, winnerOf(heat, field, finishOrder));
+    }
+
+    private void runHeat(Heat heat) {
+        RaceField field = heat.createField();
+        RaceEngine engine = new RaceEngine(field.getHorses(), trackLength);
+        engine.runToCompletion();
+        finishHeat(heat, winnerOf(heat, field, engine.getFinishOrder()));
+    }
+
+    // dicocokkan lewat identitas objek kuda, bukan nama: nama entrant boleh sama (atau kuda player diganti nama)
+    private static Entrant winnerOf(Heat heat, RaceField field, List<RaceHorse> finishOrder) {
+        RaceHorse first = finishOrder.get(0);
+        List<RaceHorse> horses = field.getHorses();
+        for (int i = 0; i < horses.size(); i++) {
+            if (horses.get(i) == first) {
+                return heat.entrants[i];
+            }
+        }
+        throw new IllegalArgumentException("Winner " + first.getName() + " did not race in this heat");
+    }
+
+    private void finishHeat(Heat heat, Entrant winner) {
+        heat.winner = winner;
+        heatsDone[heat.round].incrementAndGet();
+        completedHeats.add(heat);
+
+        // heat terakhir memajukan ronde di pool: undian ronde berikutnya (sampai ribuan entrant)
+        // tidak boleh jalan di EDT kalau yang terakhir selesai adalah heat player
+        if (heatsRemaining.decrementAndGet() == 0 && !cancelled) {
+            int round = heat.round;
+            pool.execute(() -> advance(round));
+        }
+    }
+
+    private void advance(int finishedRound) {
+        List<Entrant> winners = new ArrayList<>(currentHeats.size());
+        for (Heat heat : currentHeats) {
+            winners.add(heat.winner);
+        }
+        entrants = winners;
+
+        if (finishedRound == rounds) {
+            champion = winners.get(0);
+        } else {
+            startRound(finishedRound + 1);
+        }
+    }
+
+    // ambil heat yang selesai sejak panggilan terakhir, maksimal `max`
+    public int drainCompletedHeats(List<Heat> target, int max) {
+        int drained = 0;
+        Heat heat;
+        while (drained < max && (heat = completedHeats.poll()) != null) {
+            target.add(heat);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int getTrackLength() {
+        return trackLength;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getCurrentRound() {
+        return currentRound;
+    }
+
+    public int getHeatCount(int round) {
+        return heatsPerRound[round];
+    }
+
+    public int getHeatsDone(int round) {
+        return heatsDone[round].get();
+    }
+
+    public Heat getPlayerHeat() {
+        return playerHeat;
+    }
+
+    public Entrant getChampion() {
+        return champion;
+    }
+
+    public boolean isComplete() {
+        return champion != null;
+    }
+
+    private class HeatBatch extends RecursiveAction {
+        private final List<Heat> heats;
+        private final int from;
+        private final int to;
+
+        HeatBatch(List<Heat> heats, int from, int to) {
+            this.heats = heats;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > HEATS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new HeatBatch(heats, from, mid), new HeatBatch(heats, mid, to));
+                return;
+            }
+            for (int i = from; i < to && !cancelled; i++) {
+                Heat heat = heats.get(i);
+                if (!heat.hasPlayer()) {
+                    runHeat(heat);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package model;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+// Perkiraan peluang player finish 1st/2nd/3rd dengan simulasi Monte Carlo di semua core.
+// Langkah tiap kuda memakai RaceHorse.stride dan waktu finish yang sama dengan RaceEngine.
+public class WinOddsEstimator {
+
+    public static final int DEFAULT_SIMULATIONS = 40_000;
+    private static final int ROUNDS = 8;
+    private static final int SPLIT_THRESHOLD = 1_000;
+
+    public interface OddsListener {
+        void onOddsUpdated(Odds odds);
+    }
+
+    public static final class Odds {
+        private final long[] placeCounts;
+        private final long simulations;
+        private final boolean complete;
+
+        Odds(long[] placeCounts, long simulations, boolean complete) {
+            this.placeCounts = placeCounts;
+            this.simulations = simulations;
+            this.complete = complete;
+        }
+
+        // place mulai dari 1
+        public double getChance(int place) {
+            if (simulations == 0 || place < 1 || place > placeCounts.length) {
+                return 0.0;
+            }
+            return (double) placeCounts[place - 1] / simulations;
+        }
+
+        public long getSimulations() {
+            return simulations;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+
+    private final int[] speeds;
+    private final int playerIndex;
+    private final int trackLength;
+    private final long seed;
+    private final long tickNanos;
+    private final ForkJoinPool pool;
+    private volatile boolean cancelled;
+
+    public WinOddsEstimator(List<RaceHorse> horses, int trackLength, long seed) {
+        this(speedsOf(horses), playerIndexOf(horses), trackLength, seed);
+    }
+
+    public WinOddsEstimator(int[] speeds, int playerIndex, int trackLength, long seed) {
+        if (trackLength <= 0) {
+            throw new IllegalArgumentException("Track length must be positive");
+        }
+        this.speeds = speeds.clone();
+        this.playerIndex = playerIndex;
+        this.trackLength = trackLength;
+        this.seed = seed;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(RaceEngine.DEFAULT_TICK_MS);
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    private static int[] speedsOf(List<RaceHorse> horses) {
+        int[] speeds = new int[horses.size()];
+        for (int i = 0; i < speeds.length; i++) {
+            speeds[i] = horses.get(i).getSpeed();
+        }
+        return speeds;
+    }
+
+    private static int playerIndexOf(List<RaceHorse> horses) {
+        for (int i = 0; i < horses.size(); i++) {
+            if (horses.get(i).isPlayer()) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Field has no player horse");
+    }
+
+    // blocking, langsung seluruh simulasi
+    public Odds estimate(int simulations) {
+        long[] counts = pool.invoke(new SimulationTask(0, simulations));
+        return new Odds(counts, cancelled ? sum(counts) : simulations, !cancelled);
+    }
+
+    // hasil dikirim bertahap setelah tiap ronde, berhenti kalau cancel() dipanggil
+    public void estimateAsync(int simulations, OddsListener listener) {
+        pool.execute(() -> {
+            long[] total = new long[speeds.length];
+            int perRound = Math.max(1, simulations / ROUNDS);
+            int done = 0;
+            while (done < simulations && !cancelled) {
+                int count = Math.min(perRound, simulations - done);
+                long[] counts = new SimulationTask(done, done + count).invoke();
+                if (cancelled) {
+                    return;
+                }
+                for (int i = 0; i < total.length; i++) {
+                    total[i] += counts[i];
+                }
+                done += count;
+                listener.onOddsUpdated(new Odds(total.clone(), done, done == simulations));
+            }
+        });
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private static long sum(long[] counts) {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        return total;
+    }
+
+    // satu balapan: tiap kuda independen, jadi cukup hitung waktu finish masing-masing
+    private int simulatePlayerPlace(SplittableRandom random, long[] finishTimes) {
+        for (int h = 0; h < speeds.length; h++) {
+            int position = 0;
+            int previous = 0;
+            int ticks = 0;
+            int speed = speeds[h];
+            while (position < trackLength) {
+                previous = position;
+                position += RaceHorse.stride(random, speed);
+                ticks++;
+            }
+            finishTimes[h] = RaceEngine.finishTimeNanos(ticks, previous, position, trackLength, tickNanos);
+        }
+
+        int place = 1;
+        long playerTime = finishTimes[playerIndex];
+        for (int h = 0; h < speeds.length; h++) {
+            if (h == playerIndex) continue;
+            if (finishTimes[h] < playerTime || (finishTimes[h] == playerTime && h < playerIndex)) {
+                place++;
+            }
+        }
+        return place;
+    }
+
+    private class SimulationTask extends RecursiveTask<long[]> {
+        private final int from;
+        private final int to;
+
+        SimulationTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                return simulateRange();
+            }
+            int mid = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(from, mid);
+            SimulationTask right = new SimulationTask(mid, to);
+            left.fork();
+            long[] rightCounts = right.compute();
+            long[] leftCounts = left.join();
+            for (int i = 0; i < rightCounts.length; i++) {
+                rightCounts[i] += leftCounts[i];
+            }
+            return rightCounts;
+        }
+
+        private long[] simulateRange() {
+            long[] counts = new long[speeds.length];
+            // stream tiap potongan ditentukan dari seed + indeks awal, hasilnya tidak tergantung jadwal thread
+            SplittableRandom random = new SplittableRandom(seed ^ (from * 0x9E3779B97F4A7C15L));
+            long[] finishTimes = new long[speeds.length];
+            for (int i = from; i < to && !cancelled; i++) {
+                counts[simulatePlayerPlace(random, finishTimes) - 1]++;
+            }
+            return counts;
+        }
+    }
+}
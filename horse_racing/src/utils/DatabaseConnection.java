@@ -5,13 +5,18 @@ import java.sql.*;
 public class DatabaseConnection {
     private static final String DB_URL = "jdbc:mysql://localhost:3306/";
     private static final String DB_NAME = "horse_racing_db";
-    private static final String USER = "root";
-    private static final String PASS = "";
+    private static final String USER = System.getProperty("horseracing.db.user", "root");
+    private static final String PASS = System.getProperty("horseracing.db.password", "");
+    // URL JDBC lengkap, mis. database embedded untuk benchmark; kalau diisi CREATE DATABASE dilewati
+    private static final String JDBC_URL_OVERRIDE = System.getProperty("horseracing.db.jdbcUrl");
     
     private static volatile boolean databaseReady = false;
     
     public static Connection getConnection() {
         try {
+            if (JDBC_URL_OVERRIDE != null) {
+                return DriverManager.getConnection(JDBC_URL_OVERRIDE, USER, PASS);
+            }
             ensureDatabaseReady();
             return DriverManager.getConnection(DB_URL + DB_NAME, USER, PASS);
         } catch (SQLException e) {
@@ -71,10 +76,20 @@ public class DatabaseConnection {
                     "total_horses INT NOT NULL," +
                     "coins_earned INT NOT NULL," +
                     "race_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "seed BIGINT NULL," +
+                    "track_length INT NULL," +
+                    "player_speed INT NULL," +
                     "PRIMARY KEY (id)," +
                     "FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE" +
                     ");");
             
+            // tabel lama dibuat sebelum seed balapan dicatat
+            addColumnIfMissing(c, "race_history", "seed", "BIGINT NULL");
+            addColumnIfMissing(c, "race_history", "track_length", "INT NULL");
+            addColumnIfMissing(c, "race_history", "player_speed", "INT NULL");
+            // halaman HistoryPanel dibaca lewat index ini, tanpa sort dan tanpa OFFSET di tabel
+            addIndexIfMissing(c, "race_history", "idx_user_race_date", "user_id, race_date, id");
+            
             System.out.println("Database initialized successfully!");
             
         } catch (SQLException e) {
@@ -83,6 +98,32 @@ public class DatabaseConnection {
         }
     }
     
+    private static void addColumnIfMissing(Connection c, String table, String column, String definition)
+            throws SQLException {
+        try (ResultSet rs = c.getMetaData().getColumns(c.getCatalog(), null, table, column)) {
+            if (rs.next()) {
+                return;
+            }
+        }
+        try (Statement s = c.createStatement()) {
+            s.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+    }
+    
+    private static void addIndexIfMissing(Connection c, String table, String index, String columns)
+            throws SQLException {
+        try (ResultSet rs = c.getMetaData().getIndexInfo(c.getCatalog(), null, table, false, true)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return;
+                }
+            }
+        }
+        try (Statement s = c.createStatement()) {
+            s.executeUpdate("CREATE INDEX " + index + " ON " + table + " (" + columns + ")");
+        }
+    }
+    
     public static boolean testConnection() {
         try (Connection c = getConnection()) {
             return c != null && !c.isClosed();
@@ -0,0 +1,118 @@
+package utils;
+
+import java.awt.EventQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Watchdog EDT: thread "edt-watchdog" terus mengirim probe kecil lewat invokeLater.
+// Waktu dari kirim sampai probe jalan = latency antrian EDT. Kalau probe belum jalan setelah
+// threshold, EDT dianggap macet: stack EDT saat itu diambil dan dicetak sekali per macet.
+// Hanya jalan antara start() dan stop(), jadi tidak ada biaya saat overlay disembunyikan.
+public class EdtStallDetector {
+
+    public static final long DEFAULT_THRESHOLD_NANOS = 50_000_000L;
+    private static final long POLL_MS = 10;
+
+    private final FrameStats queueLatency;
+    private final long thresholdNanos;
+    private final AtomicInteger stalls = new AtomicInteger();
+    // 0 = tidak ada probe yang sedang menunggu
+    private volatile long postedAt;
+    private volatile Thread edt;
+    private volatile StackTraceElement[] lastStallStack;
+    private volatile boolean running;
+    private volatile Thread watchdog;
+
+    //satu instance Runnable untuk semua probe
+    private final Runnable probe = this::runProbe;
+
+    public EdtStallDetector(FrameStats queueLatency) {
+        this(queueLatency, DEFAULT_THRESHOLD_NANOS);
+    }
+
+    public EdtStallDetector(FrameStats queueLatency, long thresholdNanos) {
+        this.queueLatency = queueLatency;
+        this.thresholdNanos = thresholdNanos;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (EventQueue.isDispatchThread()) {
+            edt = Thread.currentThread();
+        }
+        postedAt = 0;
+        running = true;
+        watchdog = new Thread(this::watch, "edt-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (watchdog != null) {
+            watchdog.interrupt();
+            watchdog = null;
+        }
+    }
+
+    public int getStallCount() {
+        return stalls.get();
+    }
+
+    // stack EDT dari macet terakhir, null kalau belum pernah
+    public StackTraceElement[] getLastStallStack() {
+        return lastStallStack;
+    }
+
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    private void watch() {
+        boolean captured = false;
+        //start() lagi sebelum thread lama keluar: yang lama berhenti sendiri
+        while (running && watchdog == Thread.currentThread()) {
+            long posted = postedAt;
+            if (posted == 0) {
+                captured = false;
+                postedAt = System.nanoTime();
+                EventQueue.invokeLater(probe);
+            } else if (!captured && System.nanoTime() - posted > thresholdNanos) {
+                captured = true;
+                captureStall();
+            }
+            try {
+                Thread.sleep(POLL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // jalan di EDT
+    private void runProbe() {
+        edt = Thread.currentThread();
+        long posted = postedAt;
+        if (posted != 0) {
+            queueLatency.record(System.nanoTime() - posted);
+            postedAt = 0;
+        }
+    }
+
+    private void captureStall() {
+        Thread thread = edt;
+        if (thread == null) {
+            return;
+        }
+        StackTraceElement[] stack = thread.getStackTrace();
+        lastStallStack = stack;
+        stalls.incrementAndGet();
+        StringBuilder message = new StringBuilder("EDT stalled for more than ")
+                .append(thresholdNanos / 1_000_000).append(" ms at:");
+        for (StackTraceElement element : stack) {
+            message.append(System.lineSeparator()).append("\tat ").append(element);
+        }
+        System.err.println(message);
+    }
+}
@@ -0,0 +1,103 @@
+package utils;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+// Semua frame animasi satu ukuran dalam satu image (grid), plus tabel posisi tiap frame.
+// Satu image = satu surface yang di-upload ke VRAM, tiap kuda digambar sebagai blit sub-region.
+public final class FrameAtlas {
+
+    private final BufferedImage image;
+    private final int[] frameX;
+    private final int[] frameY;
+    private final int[] frameWidth;
+    private final int[] frameHeight;
+
+    private FrameAtlas(BufferedImage image, int[] frameX, int[] frameY, int[] frameWidth, int[] frameHeight) {
+        this.image = image;
+        this.frameX = frameX;
+        this.frameY = frameY;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+    }
+
+    // config null (headless) = ARGB biasa
+    static FrameAtlas pack(List<BufferedImage> frames, GraphicsConfiguration config) {
+        int count = frames.size();
+        int cellWidth = 1;
+        int cellHeight = 1;
+        for (BufferedImage frame : frames) {
+            cellWidth = Math.max(cellWidth, frame.getWidth());
+            cellHeight = Math.max(cellHeight, frame.getHeight());
+        }
+        //grid mendekati persegi supaya lebar atlas tidak melewati batas ukuran texture
+        int columns = Math.max(1, (int) Math.ceil(Math.sqrt(count)));
+        int rows = Math.max(1, (count + columns - 1) / columns);
+
+        int width = columns * cellWidth;
+        int height = rows * cellHeight;
+        BufferedImage atlas;
+        if (config != null) {
+            atlas = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        } else {
+            atlas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        atlas.setAccelerationPriority(1.0f);
+
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        int[] widths = new int[count];
+        int[] heights = new int[count];
+        //hanya diisi lewat Graphics (tidak pernah getRaster) supaya tetap managed image
+        Graphics2D g2d = atlas.createGraphics();
+        try {
+            g2d.setComposite(AlphaComposite.Src);
+            for (int i = 0; i < count; i++) {
+                BufferedImage frame = frames.get(i);
+                xs[i] = (i % columns) * cellWidth;
+                ys[i] = (i / columns) * cellHeight;
+                widths[i] = frame.getWidth();
+                heights[i] = frame.getHeight();
+                g2d.drawImage(frame, xs[i], ys[i], null);
+            }
+        } finally {
+            g2d.dispose();
+        }
+        return new FrameAtlas(atlas, xs, ys, widths, heights);
+    }
+
+    // blit frame ke (x, y) tanpa scaling
+    public void draw(Graphics g, int frameIndex, int x, int y) {
+        int i = frameIndex % frameX.length;
+        draw(g, frameIndex, x, y, frameWidth[i], frameHeight[i]);
+    }
+
+    // blit frame ke kotak (x, y, width, height); di-scale kalau ukurannya beda (lane kecil saat zoom out)
+    public void draw(Graphics g, int frameIndex, int x, int y, int width, int height) {
+        int i = frameIndex % frameX.length;
+        int sx = frameX[i];
+        int sy = frameY[i];
+        g.drawImage(image, x, y, x + width, y + height, sx, sy, sx + frameWidth[i], sy + frameHeight[i], null);
+    }
+
+    public boolean isAccelerated(GraphicsConfiguration config) {
+        return image.getCapabilities(config).isAccelerated();
+    }
+
+    public int getFrameCount() {
+        return frameX.length;
+    }
+
+    public int getFrameWidth(int frameIndex) {
+        return frameWidth[frameIndex % frameWidth.length];
+    }
+
+    public int getFrameHeight(int frameIndex) {
+        return frameHeight[frameIndex % frameHeight.length];
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+}
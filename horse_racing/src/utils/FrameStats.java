@@ -0,0 +1,53 @@
+package utils;
+
+import java.util.Arrays;
+
+// Ring berisi SAMPLE_COUNT durasi terakhir (nanodetik), untuk persentil frame time, jitter, dll.
+// record() tidak mengalokasikan apa-apa; persentil dihitung dari salinan hanya saat diminta overlay.
+public class FrameStats {
+
+    private static final int SAMPLE_COUNT = 512;
+
+    private final long[] samples = new long[SAMPLE_COUNT];
+    private final long[] sorted = new long[SAMPLE_COUNT];
+    private int next;
+    private int size;
+    private boolean sortedValid;
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % SAMPLE_COUNT;
+        if (size < SAMPLE_COUNT) {
+            size++;
+        }
+        sortedValid = false;
+    }
+
+    // p antara 0 dan 1; 0 kalau belum ada sample
+    public synchronized long percentile(double p) {
+        if (size == 0) {
+            return 0;
+        }
+        if (!sortedValid) {
+            System.arraycopy(samples, 0, sorted, 0, size);
+            Arrays.sort(sorted, 0, size);
+            sortedValid = true;
+        }
+        int index = (int) Math.ceil(p * size) - 1;
+        return sorted[Math.max(0, Math.min(index, size - 1))];
+    }
+
+    public long max() {
+        return percentile(1.0);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void reset() {
+        next = 0;
+        size = 0;
+        sortedValid = false;
+    }
+}
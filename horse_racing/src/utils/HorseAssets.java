@@ -11,6 +11,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 public class HorseAssets {
     
@@ -20,17 +21,22 @@ public class HorseAssets {
     private static int gifWidth = 64;
     private static int gifHeight = 48;
     
-    private static List<BufferedImage> preRenderedFrames = null;
+    //semua frame hasil scale dalam satu atlas format layar (compatible), dibaca juga oleh thread render
+    private static volatile FrameAtlas frameAtlas = null;
+    //frame ARGB hasil scale, sumber untuk membuat ulang atlas saat pindah layar tanpa decode GIF lagi
+    private static List<BufferedImage> scaledFrames = null;
+    private static GraphicsConfiguration framesConfig = null;
+    private static final LongAdder acceleratedBlits = new LongAdder();
+    private static final LongAdder unacceleratedBlits = new LongAdder();
     private static int preRenderedWidth = -1;
     private static int preRenderedHeight = -1;
     private static boolean framesPreRendered = false;
     
-    public static boolean preRenderFrames(int targetWidth, int targetHeight) {
+    public static synchronized boolean preRenderFrames(int targetWidth, int targetHeight) {
         if (framesPreRendered && 
             preRenderedWidth == targetWidth && 
             preRenderedHeight == targetHeight && 
-            preRenderedFrames != null && 
-            !preRenderedFrames.isEmpty()) {
+            frameAtlas != null) {
             return true;
         }
         
@@ -41,7 +47,7 @@ public class HorseAssets {
             return false;
         }
         
-        preRenderedFrames = new ArrayList<>();
+        List<BufferedImage> scaled = new ArrayList<>();
         preRenderedWidth = targetWidth;
         preRenderedHeight = targetHeight;
         
@@ -89,7 +95,7 @@ public class HorseAssets {
                 g2d.drawImage(originalFrame, 0, 0, scaledWidth, scaledHeight, null);
                 g2d.dispose();
                 
-                preRenderedFrames.add(scaledFrame);
+                scaled.add(scaledFrame);
                 
                 if ((i + 1) % 5 == 0 || i == frameCount - 1) {
                     System.out.println("Pre-rendered " + (i + 1) + "/" + frameCount + " frames");
@@ -99,6 +105,9 @@ public class HorseAssets {
             reader.dispose();
             stream.close();
             
+            scaledFrames = scaled;
+            framesConfig = defaultConfiguration();
+            frameAtlas = scaled.isEmpty() ? null : FrameAtlas.pack(scaled, framesConfig);
             framesPreRendered = true;
 
             return true;
@@ -106,33 +115,59 @@ public class HorseAssets {
         } catch (Exception e) {
             System.err.println("Error pre-rendering GIF frames: " + e.getMessage());
             e.printStackTrace();
-            preRenderedFrames = null;
+            frameAtlas = null;
+            scaledFrames = null;
             framesPreRendered = false;
             return false;
         }
     }
     
-    public static BufferedImage getPreRenderedFrame(int frameIndex) {
-        if (preRenderedFrames == null || preRenderedFrames.isEmpty()) {
+    public static FrameAtlas getFrameAtlas() {
+        return frameAtlas;
+    }
+    
+    //window pindah ke layar lain: atlas dibuat ulang dalam format layar tersebut
+    public static synchronized void ensureFramesFor(GraphicsConfiguration config) {
+        if (config == null || scaledFrames == null || scaledFrames.isEmpty() || config.equals(framesConfig)) {
+            return;
+        }
+        framesConfig = config;
+        frameAtlas = FrameAtlas.pack(scaledFrames, config);
+    }
+    
+    //hitung blit frame kuda; status akselerasi atlas dicek sekali per paint
+    public static void countBlits(int blits, boolean accelerated) {
+        (accelerated ? acceleratedBlits : unacceleratedBlits).add(blits);
+    }
+    
+    public static long getAcceleratedBlits() {
+        return acceleratedBlits.sum();
+    }
+    
+    public static long getUnacceleratedBlits() {
+        return unacceleratedBlits.sum();
+    }
+    
+    private static GraphicsConfiguration defaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
             return null;
         }
-        
-        int index = frameIndex % preRenderedFrames.size();
-        return preRenderedFrames.get(index);
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
     }
     
     public static int getPreRenderedFrameCount() {
-        return preRenderedFrames != null ? preRenderedFrames.size() : 0;
+        FrameAtlas atlas = frameAtlas;
+        return atlas != null ? atlas.getFrameCount() : 0;
     }
     
     public static boolean hasPreRenderedFrames() {
-        return framesPreRendered && preRenderedFrames != null && !preRenderedFrames.isEmpty();
+        return framesPreRendered && frameAtlas != null;
     }
     
     public static Dimension getPreRenderedDimensions() {
-        if (preRenderedFrames != null && !preRenderedFrames.isEmpty()) {
-            BufferedImage first = preRenderedFrames.get(0);
-            return new Dimension(first.getWidth(), first.getHeight());
+        FrameAtlas atlas = frameAtlas;
+        if (atlas != null) {
+            return new Dimension(atlas.getFrameWidth(0), atlas.getFrameHeight(0));
         }
         return new Dimension(preRenderedWidth, preRenderedHeight);
     }
@@ -156,7 +191,9 @@ public class HorseAssets {
     
     public static ImageIcon getScaledHorseGifIcon(int maxWidth, int maxHeight) {
         if (hasPreRenderedFrames()) {
-            BufferedImage firstFrame = getPreRenderedFrame(0);
+            //icon butuh image sendiri, bukan sub-region atlas
+            List<BufferedImage> frames = scaledFrames;
+            BufferedImage firstFrame = frames != null && !frames.isEmpty() ? frames.get(0) : null;
             if (firstFrame != null) {
                 return new ImageIcon(firstFrame);
             }
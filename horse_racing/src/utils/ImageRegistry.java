@@ -0,0 +1,173 @@
+package utils;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.imageio.ImageIO;
+
+// Satu tempat untuk gambar dari folder assets: tiap file di-decode sekali saja,
+// versi yang sudah di-scale disimpan di LRU yang dibatasi total piksel (bukan jumlah entri).
+// Semua panel menu memanggil drawBackground dengan path dan ukuran yang sama, jadi berbagi satu salinan.
+public class ImageRegistry {
+
+    public static final String BACKGROUND = "assets/background.jpg";
+    public static final String TRACK = "assets/TrackBalapan.png";
+
+    // ~32 MB untuk gambar 32-bit, cukup untuk beberapa background layar penuh
+    private static final long MAX_CACHED_PIXELS = 8L * 1024 * 1024;
+    private static final BufferedImage MISSING = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+
+    public enum Quality {
+        FAST(RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR),
+        SMOOTH(RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        private final Object interpolation;
+
+        Quality(Object interpolation) {
+            this.interpolation = interpolation;
+        }
+    }
+
+    private static final class Key {
+        private final String path;
+        private final int width;
+        private final int height;
+        private final Quality quality;
+
+        private Key(String path, int width, int height, Quality quality) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+            this.quality = quality;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return width == other.width && height == other.height
+                    && quality == other.quality && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return ((path.hashCode() * 31 + width) * 31 + height) * 31 + quality.ordinal();
+        }
+    }
+
+    private static final Map<String, BufferedImage> originals = new ConcurrentHashMap<>();
+    // accessOrder = true: get() memindahkan entri ke belakang, yang paling lama tidak dipakai di depan
+    private static final LinkedHashMap<Key, BufferedImage> scaled = new LinkedHashMap<>(16, 0.75f, true);
+    private static long cachedPixels;
+
+    private ImageRegistry() {
+    }
+
+    // gambar asli, null kalau file tidak bisa dibaca (error hanya dicetak sekali)
+    public static BufferedImage get(String path) {
+        BufferedImage image = originals.computeIfAbsent(path, ImageRegistry::load);
+        return image == MISSING ? null : image;
+    }
+
+    // versi ukuran width x height; hasil scale disimpan sampai tergusur LRU
+    public static BufferedImage getScaled(String path, int width, int height, Quality quality) {
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        Key key = new Key(path, width, height, quality);
+        synchronized (scaled) {
+            BufferedImage cached = scaled.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        BufferedImage original = get(path);
+        if (original == null) {
+            return null;
+        }
+        BufferedImage image = scale(original, width, height, quality);
+
+        long pixels = (long) width * height;
+        if (pixels > MAX_CACHED_PIXELS) {
+            // lebih besar dari seluruh budget, tidak disimpan
+            return image;
+        }
+        synchronized (scaled) {
+            BufferedImage previous = scaled.put(key, image);
+            if (previous != null) {
+                cachedPixels -= (long) previous.getWidth() * previous.getHeight();
+            }
+            cachedPixels += pixels;
+            evict();
+        }
+        return image;
+    }
+
+    // latar panel: blit dari cache, atau warna polos kalau asset tidak ada
+    public static void drawBackground(Graphics g, String path, int width, int height,
+                                      Quality quality, Color fallback) {
+        BufferedImage image = getScaled(path, width, height, quality);
+        if (image != null) {
+            g.drawImage(image, 0, 0, null);
+        } else if (fallback != null) {
+            g.setColor(fallback);
+            g.fillRect(0, 0, width, height);
+        }
+    }
+
+    public static long getCachedPixels() {
+        synchronized (scaled) {
+            return cachedPixels;
+        }
+    }
+
+    private static void evict() {
+        Iterator<BufferedImage> it = scaled.values().iterator();
+        while (cachedPixels > MAX_CACHED_PIXELS && it.hasNext()) {
+            BufferedImage eldest = it.next();
+            cachedPixels -= (long) eldest.getWidth() * eldest.getHeight();
+            it.remove();
+        }
+    }
+
+    private static BufferedImage load(String path) {
+        try {
+            BufferedImage image = ImageIO.read(new File(path));
+            if (image == null) {
+                System.err.println("Unsupported image format: " + path);
+                return MISSING;
+            }
+            return image;
+        } catch (IOException e) {
+            System.err.println("Failed to load image " + path + ": " + e.getMessage());
+            return MISSING;
+        }
+    }
+
+    // format piksel mengikuti layar supaya blit-nya tidak perlu konversi
+    private static BufferedImage scale(BufferedImage source, int width, int height, Quality quality) {
+        int transparency = source.getTransparency();
+        BufferedImage target;
+        if (GraphicsEnvironment.isHeadless()) {
+            target = new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        } else {
+            target = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDefaultConfiguration().createCompatibleImage(width, height, transparency);
+        }
+        Graphics2D g2d = target.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, quality.interpolation);
+            g2d.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g2d.dispose();
+        }
+        return target;
+    }
+}
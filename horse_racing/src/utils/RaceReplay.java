@@ -0,0 +1,228 @@
+package utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+// Rekaman balapan yang sudah selesai: posisi semua kuda per tick, dibaca dari file .hrr.
+// Format: header (seed, track, kuda, urutan finish) lalu delta posisi per tick sebagai varint.
+public class RaceReplay {
+
+    static final int MAGIC = 0x48525250; // "HRRP"
+    static final byte VERSION = 1;
+    //-Dhorseracing.replay.dir: folder lain untuk replay (tes memakai folder di build/)
+    static final String REPLAY_DIR = System.getProperty("horseracing.replay.dir", "replays");
+    static final String EXTENSION = ".hrr";
+    // replay tertua dihapus kalau jumlahnya lewat dari ini
+    static final int MAX_REPLAYS = 200;
+    // batas atas header, supaya file rusak tidak membuat array raksasa
+    static final int MAX_HORSES = 1024;
+    static final int MAX_TICKS = 1_000_000;
+
+    private final long seed;
+    private final int trackLength;
+    private final int tickMillis;
+    private final String[] names;
+    private final int[] speeds;
+    private final int[] lanes;
+    private final boolean[] players;
+    private final int[] finishOrder;
+    private final int tickCount;
+    // posisi[tick * jumlahKuda + kuda], tick 0 = garis start
+    private final int[] positions;
+
+    RaceReplay(long seed, int trackLength, int tickMillis, String[] names, int[] speeds, int[] lanes,
+               boolean[] players, int[] finishOrder, int tickCount, int[] positions) {
+        this.seed = seed;
+        this.trackLength = trackLength;
+        this.tickMillis = tickMillis;
+        this.names = names;
+        this.speeds = speeds;
+        this.lanes = lanes;
+        this.players = players;
+        this.finishOrder = finishOrder;
+        this.tickCount = tickCount;
+        this.positions = positions;
+    }
+
+    // replay disimpan per seed, seed yang sama juga tercatat di race_history
+    public static File fileForSeed(long seed) {
+        return new File(REPLAY_DIR, Long.toHexString(seed) + EXTENSION);
+    }
+
+    public static boolean exists(long seed) {
+        return fileForSeed(seed).isFile();
+    }
+
+    public static RaceReplay load(long seed) throws IOException {
+        return load(fileForSeed(seed).toPath());
+    }
+
+    public static RaceReplay load(Path path) throws IOException {
+        ByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Replay file too large: " + path);
+            }
+            buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining()) {
+                if (channel.read(buf) < 0) {
+                    throw new IOException("Unexpected end of replay file: " + path);
+                }
+            }
+            buf.flip();
+        }
+        return decode(buf, path.toString());
+    }
+
+    static RaceReplay decode(ByteBuffer buf, String source) throws IOException {
+        try {
+            if (buf.getInt() != MAGIC) {
+                throw new IOException("Not a race replay file: " + source);
+            }
+            byte version = buf.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay version " + version + ": " + source);
+            }
+
+            long seed = buf.getLong();
+            int trackLength = readVarint(buf);
+            int tickMillis = readVarint(buf);
+            int horseCount = readVarint(buf);
+            //tiap kuda minimal 5 byte di header (panjang nama, speed, lane, flag player + finish)
+            checkCount(horseCount, MAX_HORSES, buf.remaining() / 5, "horse count", source);
+
+            String[] names = new String[horseCount];
+            int[] speeds = new int[horseCount];
+            int[] lanes = new int[horseCount];
+            boolean[] players = new boolean[horseCount];
+            for (int i = 0; i < horseCount; i++) {
+                int nameLength = readVarint(buf);
+                checkCount(nameLength, buf.remaining(), buf.remaining(), "name length", source);
+                byte[] nameBytes = new byte[nameLength];
+                buf.get(nameBytes);
+                names[i] = new String(nameBytes, StandardCharsets.UTF_8);
+                speeds[i] = readVarint(buf);
+                lanes[i] = readVarint(buf);
+                checkCount(lanes[i], horseCount - 1, horseCount - 1, "lane", source);
+                players[i] = buf.get() != 0;
+            }
+
+            int finishedCount = readVarint(buf);
+            checkCount(finishedCount, horseCount, horseCount, "finished count", source);
+            int[] finishOrder = new int[finishedCount];
+            for (int i = 0; i < finishOrder.length; i++) {
+                finishOrder[i] = readVarint(buf);
+                checkCount(finishOrder[i], horseCount - 1, horseCount - 1, "finish order", source);
+            }
+
+            int tickCount = readVarint(buf);
+            //tiap tick minimal satu byte per kuda
+            checkCount(tickCount, MAX_TICKS, horseCount == 0 ? 0 : buf.remaining() / horseCount,
+                    "tick count", source);
+            int[] positions = new int[(tickCount + 1) * horseCount];
+            for (int t = 1; t <= tickCount; t++) {
+                int row = t * horseCount;
+                int prevRow = row - horseCount;
+                for (int h = 0; h < horseCount; h++) {
+                    positions[row + h] = positions[prevRow + h] + readVarint(buf);
+                }
+            }
+
+            return new RaceReplay(seed, trackLength, tickMillis, names, speeds, lanes,
+                                  players, finishOrder, tickCount, positions);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt replay file: " + source, e);
+        }
+    }
+
+    private static void checkCount(int value, int max, int available, String what, String source)
+            throws IOException {
+        if (value < 0 || value > max || value > available) {
+            throw new IOException("Corrupt replay file (" + what + " " + value + "): " + source);
+        }
+    }
+
+    // hapus replay tertua sampai tersisa maxReplays file; replay yang terhapus hanya tidak bisa diputar lagi
+    static void pruneOldReplays(File dir, int maxReplays) {
+        File[] files = dir.listFiles((d, name) -> name.endsWith(EXTENSION));
+        if (files == null || files.length <= maxReplays) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length - maxReplays; i++) {
+            if (!files[i].delete()) {
+                System.err.println("Failed to delete old replay: " + files[i]);
+            }
+        }
+    }
+
+    static int readVarint(ByteBuffer buf) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buf.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in replay");
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getTrackLength() {
+        return trackLength;
+    }
+
+    public int getTickMillis() {
+        return tickMillis;
+    }
+
+    public int getHorseCount() {
+        return names.length;
+    }
+
+    public String getName(int horse) {
+        return names[horse];
+    }
+
+    public int getSpeed(int horse) {
+        return speeds[horse];
+    }
+
+    public int getLane(int horse) {
+        return lanes[horse];
+    }
+
+    public boolean isPlayer(int horse) {
+        return players[horse];
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    // tick 0 = semua kuda di garis start
+    public int getPosition(int tick, int horse) {
+        return positions[tick * names.length + horse];
+    }
+
+    public int getFinishedCount() {
+        return finishOrder.length;
+    }
+
+    // index kuda di urutan ke-`place` (mulai dari 1)
+    public int getHorseAtPlace(int place) {
+        return finishOrder[place - 1];
+    }
+}
@@ -0,0 +1,156 @@
+package utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import model.RaceEngine;
+import model.RaceHorse;
+
+// Listener RaceEngine yang merekam delta posisi tiap tick ke buffer memori.
+// Disk baru disentuh sekali di save(), jadi tick balapan tidak ikut menunggu I/O.
+public class ReplayRecorder implements RaceEngine.RaceListener {
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+
+    private final List<RaceHorse> horses;
+    private final int[] lanes;
+    private final long seed;
+    private final int trackLength;
+    private final int tickMillis;
+    private final int[] lastPositions;
+    private final int[] finishOrder;
+    private int finishedCount;
+    private int tickCount;
+    private byte[] tickData;
+    private int tickDataLength;
+
+    public ReplayRecorder(RaceEngine engine, int[] lanes, long seed) {
+        this.horses = engine.getHorses();
+        this.lanes = lanes.clone();
+        this.seed = seed;
+        this.trackLength = engine.getTrackLength();
+        this.tickMillis = engine.getTickMillis();
+        this.lastPositions = new int[horses.size()];
+        this.finishOrder = new int[horses.size()];
+        this.tickData = new byte[INITIAL_CAPACITY];
+        for (int i = 0; i < lastPositions.length; i++) {
+            lastPositions[i] = horses.get(i).getPosition();
+        }
+    }
+
+    @Override
+    public void onTick(int tick) {
+        for (int i = 0; i < lastPositions.length; i++) {
+            int position = horses.get(i).getPosition();
+            writeVarint(position - lastPositions[i]);
+            lastPositions[i] = position;
+        }
+        tickCount++;
+    }
+
+    @Override
+    public void onHorseFinished(RaceHorse horse, int place) {
+        finishOrder[finishedCount++] = horses.indexOf(horse);
+    }
+
+    private void writeVarint(int value) {
+        if (tickDataLength + 5 > tickData.length) {
+            tickData = Arrays.copyOf(tickData, tickData.length * 2);
+        }
+        while ((value & ~0x7F) != 0) {
+            tickData[tickDataLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        tickData[tickDataLength++] = (byte) value;
+    }
+
+    public File save() throws IOException {
+        File file = RaceReplay.fileForSeed(seed);
+        File dir = file.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create replay directory: " + dir);
+        }
+        save(file.toPath());
+        if (dir != null) {
+            RaceReplay.pruneOldReplays(dir, RaceReplay.MAX_REPLAYS);
+        }
+        return file;
+    }
+
+    public void save(Path path) throws IOException {
+        ByteBuffer header = encodeHeader();
+        ByteBuffer body = ByteBuffer.wrap(tickData, 0, tickDataLength);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] parts = {header, body};
+            //rekaman tanpa tick punya body kosong, header tetap harus tertulis penuh
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(parts);
+            }
+        }
+    }
+
+    // rekaman langsung sebagai RaceReplay di memori, tanpa lewat file
+    public RaceReplay toReplay() {
+        ByteBuffer header = encodeHeader();
+        ByteBuffer all = ByteBuffer.allocate(header.remaining() + tickDataLength);
+        all.put(header).put(tickData, 0, tickDataLength).flip();
+        try {
+            return RaceReplay.decode(all, "recording #" + Long.toHexString(seed));
+        } catch (IOException e) {
+            throw new IllegalStateException("Recorder produced an unreadable replay", e);
+        }
+    }
+
+    private ByteBuffer encodeHeader() {
+        byte[][] names = new byte[horses.size()][];
+        int size = 4 + 1 + 8 + 5 * 3;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = horses.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            size += 5 + names[i].length + 5 + 5 + 1;
+        }
+        size += 5 + 5 * finishedCount + 5;
+
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putInt(RaceReplay.MAGIC);
+        buf.put(RaceReplay.VERSION);
+        buf.putLong(seed);
+        putVarint(buf, trackLength);
+        putVarint(buf, tickMillis);
+        putVarint(buf, names.length);
+        for (int i = 0; i < names.length; i++) {
+            RaceHorse horse = horses.get(i);
+            putVarint(buf, names[i].length);
+            buf.put(names[i]);
+            putVarint(buf, horse.getSpeed());
+            putVarint(buf, lanes[i]);
+            buf.put((byte) (horse.isPlayer() ? 1 : 0));
+        }
+        putVarint(buf, finishedCount);
+        for (int i = 0; i < finishedCount; i++) {
+            putVarint(buf, finishOrder[i]);
+        }
+        putVarint(buf, tickCount);
+        buf.flip();
+        return buf;
+    }
+
+    private static void putVarint(ByteBuffer buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    public int getRecordedBytes() {
+        return tickDataLength;
+    }
+}
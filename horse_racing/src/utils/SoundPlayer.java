@@ -3,8 +3,10 @@ package utils;
 import java.io.File;
 import java.io.IOException;
 import javax.sound.sampled.*;
+import model.RaceEvent;
+import model.RaceEventBus;
 
-public class SoundPlayer {
+public class SoundPlayer implements RaceEventBus.EventHandler {
     private Clip clip;
 
     public void playLoop(String filePath) {
@@ -23,9 +25,24 @@ public class SoundPlayer {
         }
     }
 
+    //lanjut dari posisi terakhir setelah stop()
+    public void resume() {
+        if (clip != null && !clip.isRunning()) {
+            clip.loop(Clip.LOOP_CONTINUOUSLY);
+        }
+    }
+
     public void stop() {
         if (clip != null) {
             clip.stop();
         }
     }
+
+    //subscriber RaceEventBus: musik berhenti begitu balapan selesai
+    @Override
+    public void onEvent(RaceEvent event, boolean endOfBatch) {
+        if (event.getType() == RaceEvent.Type.COMPLETE) {
+            stop();
+        }
+    }
 }
@@ -2,10 +2,14 @@ package utils;
 
 import model.User;
 import model.Horse;
+import model.RaceEvent;
+import model.RaceEventBus;
 import model.RaceHistory;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -24,7 +28,7 @@ public class UserManager {
         return Base64.getEncoder().encodeToString(salt);
     }
 
-    private String hashPassword(String password, String salt) {
+    String hashPassword(String password, String salt) {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
             String saltedPassword = salt + password;
@@ -132,7 +136,13 @@ public class UserManager {
     }
     
     public void updateUser(User user) {
-        String updateUserSql = "UPDATE users SET coins = ? WHERE id = ?";
+        updateUser(user, 0);
+    }
+    
+    // koin tidak pernah ditulis absolut: settlement yang masih antri di thread event juga menambah relatif,
+    // jadi urutan keduanya tidak mengubah saldo akhir. coinDelta 0 = hanya data kuda
+    public void updateUser(User user, int coinDelta) {
+        String updateUserSql = "UPDATE users SET coins = coins + ? WHERE id = ?";
         String updateHorseSql = "UPDATE horses SET speed = ?, stamina = ?, acceleration = ?, level = ? WHERE user_id = ?";
         String insertHorseSql = "INSERT INTO horses (user_id, name, speed, stamina, acceleration, level) VALUES (?, ?, ?, ?, ?, ?)";
         String checkHorseSql = "SELECT id FROM horses WHERE user_id = ?";
@@ -140,9 +150,11 @@ public class UserManager {
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement updateUserStmt = conn.prepareStatement(updateUserSql)) {
             
-            updateUserStmt.setInt(1, user.getCoins());
-            updateUserStmt.setInt(2, user.getUserId());
-            updateUserStmt.executeUpdate();
+            if (coinDelta != 0) {
+                updateUserStmt.setInt(1, coinDelta);
+                updateUserStmt.setInt(2, user.getUserId());
+                updateUserStmt.executeUpdate();
+            }
             
             if (user.getHorse() != null) {
                 Horse horse = user.getHorse();
@@ -180,18 +192,18 @@ public class UserManager {
         }
     }
     
+    // lihat countUserHistory
+    private final Map<Integer, Integer> historyCounts = new ConcurrentHashMap<>();
+    
+    private static final String INSERT_HISTORY_SQL = "INSERT INTO race_history (user_id, horse_name, position, total_horses, coins_earned, seed, track_length, player_speed) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
     public void addRaceHistory(RaceHistory history) {
-        String sql = "INSERT INTO race_history (user_id, horse_name, position, total_horses, coins_earned) VALUES (?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_HISTORY_SQL)) {
             
-            stmt.setInt(1, history.getUserId());
-            stmt.setString(2, history.getHorseName());
-            stmt.setInt(3, history.getPosition());
-            stmt.setInt(4, history.getTotalHorses());
-            stmt.setInt(5, history.getCoinsEarned());
+            bindHistory(stmt, history);
             stmt.executeUpdate();
+            historyAdded(history.getUserId());
             
         } catch (SQLException e) {
             System.err.println("Error adding race history: " + e.getMessage());
@@ -199,9 +211,92 @@ public class UserManager {
         }
     }
     
+    // jumlah yang belum pernah dihitung dibiarkan kosong, COUNT(*) pertama sudah termasuk baris ini
+    private void historyAdded(int userId) {
+        historyCounts.computeIfPresent(userId, (id, count) -> count + 1);
+    }
+    
+    private void bindHistory(PreparedStatement stmt, RaceHistory history) throws SQLException {
+        stmt.setInt(1, history.getUserId());
+        stmt.setString(2, history.getHorseName());
+        stmt.setInt(3, history.getPosition());
+        stmt.setInt(4, history.getTotalHorses());
+        stmt.setInt(5, history.getCoinsEarned());
+        if (history.isReproducible()) {
+            stmt.setLong(6, history.getSeed());
+            stmt.setInt(7, history.getTrackLength());
+            stmt.setInt(8, history.getPlayerSpeed());
+        } else {
+            stmt.setNull(6, Types.BIGINT);
+            stmt.setNull(7, Types.INTEGER);
+            stmt.setNull(8, Types.INTEGER);
+        }
+    }
+    
+    //subscriber RaceEventBus: hasil balapan ditulis di thread event, bukan di EDT
+    public RaceEventBus.EventHandler settlementHandler() {
+        return new SettlementWriter();
+    }
+    
+    //koin + history dari satu batch event ditulis dalam satu transaksi.
+    //Koin ditambah relatif (coins + hadiah): pembelian di UpgradePanel yang tersimpan lebih dulu tidak tertimpa
+    void saveSettlements(List<RaceHistory> histories) {
+        String updateCoinsSql = "UPDATE users SET coins = coins + ? WHERE id = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement coinsStmt = conn.prepareStatement(updateCoinsSql);
+                 PreparedStatement historyStmt = conn.prepareStatement(INSERT_HISTORY_SQL)) {
+                for (int i = 0; i < histories.size(); i++) {
+                    coinsStmt.setInt(1, histories.get(i).getCoinsEarned());
+                    coinsStmt.setInt(2, histories.get(i).getUserId());
+                    coinsStmt.addBatch();
+                    
+                    bindHistory(historyStmt, histories.get(i));
+                    historyStmt.addBatch();
+                }
+                coinsStmt.executeBatch();
+                historyStmt.executeBatch();
+                conn.commit();
+                for (int i = 0; i < histories.size(); i++) {
+                    historyAdded(histories.get(i).getUserId());
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error saving race settlements: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    private class SettlementWriter implements RaceEventBus.EventHandler {
+        private final List<RaceHistory> histories = new ArrayList<>();
+        
+        @Override
+        public void onEvent(RaceEvent event, boolean endOfBatch) {
+            //slot event dipakai ulang, tapi RaceHistory dibuat baru tiap balapan, jadi referensinya aman disimpan
+            if (event.getType() == RaceEvent.Type.SETTLEMENT) {
+                histories.add(event.getHistory());
+            }
+            if (endOfBatch && !histories.isEmpty()) {
+                //batch yang gagal tidak diulang: tanpa ini koin dan history masuk berkali-kali saat DB hidup lagi
+                try {
+                    saveSettlements(histories);
+                } catch (RuntimeException e) {
+                    System.err.println("Error saving race settlements: " + e.getMessage());
+                    e.printStackTrace();
+                } finally {
+                    histories.clear();
+                }
+            }
+        }
+    }
+    
     public List<RaceHistory> getUserHistory(int userId) {
         List<RaceHistory> historyList = new ArrayList<>();
-        String sql = "SELECT user_id, horse_name, position, total_horses, coins_earned, race_date FROM race_history WHERE user_id = ? ORDER BY race_date DESC";
+        String sql = HISTORY_COLUMNS + "WHERE user_id = ? ORDER BY race_date DESC, id DESC";
         
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -210,15 +305,7 @@ public class UserManager {
             ResultSet rs = stmt.executeQuery();
             
             while (rs.next()) {
-                String horseName = rs.getString("horse_name");
-                int position = rs.getInt("position");
-                int totalHorses = rs.getInt("total_horses");
-                int coinsEarned = rs.getInt("coins_earned");
-                Timestamp raceDate = rs.getTimestamp("race_date");
-                
-                RaceHistory history = new RaceHistory(userId, horseName, position, totalHorses, coinsEarned);
-                history.setTimestamp(raceDate);
-                historyList.add(history);
+                historyList.add(readHistory(rs, userId));
             }
             
         } catch (SQLException e) {
@@ -228,4 +315,136 @@ public class UserManager {
         
         return historyList;
     }
+    
+    // posisi di urutan history (race_date DESC, id DESC); race_date bisa sama untuk beberapa baris, id tidak
+    public static final class HistoryKey {
+        private final Timestamp raceDate;
+        private final int id;
+        
+        public HistoryKey(Timestamp raceDate, int id) {
+            this.raceDate = raceDate;
+            this.id = id;
+        }
+        
+        public static HistoryKey of(RaceHistory history) {
+            return new HistoryKey(history.getRaceDate(), history.getId());
+        }
+    }
+    
+    private static final String HISTORY_COLUMNS = "SELECT id, user_id, horse_name, position, total_horses, coins_earned, race_date, seed, track_length, player_speed FROM race_history ";
+    // keyset: baris sesudah `after` dalam urutan index (user_id, race_date, id), tanpa OFFSET
+    private static final String AFTER_KEY = "AND (race_date < ? OR (race_date = ? AND id < ?)) ";
+    private static final String HISTORY_ORDER = "ORDER BY race_date DESC, id DESC LIMIT ?";
+    
+    // COUNT(*) sekali per user per sesi, sesudahnya ditambah tiap history disimpan lewat UserManager ini
+    public int countUserHistory(int userId) {
+        Integer cached = historyCounts.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        String sql = "SELECT COUNT(*) FROM race_history WHERE user_id = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, userId);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                int count = rs.getInt(1);
+                historyCounts.putIfAbsent(userId, count);
+                return count;
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error counting race history: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return 0;
+    }
+    
+    // maksimal `limit` baris sesudah `after` (null = dari yang terbaru)
+    public List<RaceHistory> getUserHistoryPage(int userId, HistoryKey after, int limit) {
+        List<RaceHistory> page = new ArrayList<>(limit);
+        String sql = HISTORY_COLUMNS + "WHERE user_id = ? " + (after != null ? AFTER_KEY : "") + HISTORY_ORDER;
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = bindAfter(stmt, userId, after);
+            stmt.setInt(index, limit);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                page.add(readHistory(rs, userId));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error loading race history page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return page;
+    }
+    
+    // batas `pages` halaman berikutnya sesudah `after` (scrollbar ditarik jauh): elemen ke-k = kunci baris
+    // terakhir halaman ke-k, yaitu `after` untuk halaman sesudahnya. Hanya kunci index sebanyak
+    // pages * pageSize baris yang dibaca, dan hanya tiap baris ke-pageSize yang dikirim.
+    // Lebih pendek dari `pages` kalau data habis
+    public List<HistoryKey> getUserHistoryPageStarts(int userId, HistoryKey after, int pageSize, int pages) {
+        List<HistoryKey> starts = new ArrayList<>(pages);
+        String sql = "SELECT race_date, id FROM ("
+                + "SELECT race_date, id, ROW_NUMBER() OVER (ORDER BY race_date DESC, id DESC) AS rn FROM ("
+                + "SELECT race_date, id FROM race_history WHERE user_id = ? " + (after != null ? AFTER_KEY : "")
+                + HISTORY_ORDER + ") scanned) numbered WHERE MOD(rn, ?) = 0 ORDER BY race_date DESC, id DESC";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = bindAfter(stmt, userId, after);
+            stmt.setInt(index, pages * pageSize);
+            stmt.setInt(index + 1, pageSize);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                starts.add(new HistoryKey(rs.getTimestamp("race_date"), rs.getInt("id")));
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error seeking race history: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return starts;
+    }
+    
+    // return index parameter berikutnya
+    private int bindAfter(PreparedStatement stmt, int userId, HistoryKey after) throws SQLException {
+        stmt.setInt(1, userId);
+        if (after == null) {
+            return 2;
+        }
+        stmt.setTimestamp(2, after.raceDate);
+        stmt.setTimestamp(3, after.raceDate);
+        stmt.setInt(4, after.id);
+        return 5;
+    }
+    
+    private RaceHistory readHistory(ResultSet rs, int userId) throws SQLException {
+        String horseName = rs.getString("horse_name");
+        int position = rs.getInt("position");
+        int totalHorses = rs.getInt("total_horses");
+        int coinsEarned = rs.getInt("coins_earned");
+        Timestamp raceDate = rs.getTimestamp("race_date");
+        long seed = rs.getLong("seed");
+        boolean legacy = rs.wasNull();
+        int trackLength = rs.getInt("track_length");
+        legacy |= rs.wasNull();
+        int playerSpeed = rs.getInt("player_speed");
+        legacy |= rs.wasNull();
+        
+        //baris lama tanpa seed: NULL jangan dibaca sebagai 0, riwayatnya memang tidak bisa diulang
+        RaceHistory history = legacy
+                ? new RaceHistory(userId, horseName, position, totalHorses, coinsEarned)
+                : new RaceHistory(userId, horseName, position, totalHorses, coinsEarned,
+                                  seed, trackLength, playerSpeed);
+        history.setId(rs.getInt("id"));
+        history.setTimestamp(raceDate);
+        return history;
+    }
 }
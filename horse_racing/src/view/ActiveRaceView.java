@@ -0,0 +1,137 @@
+package view;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.DisplayMode;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+// Mode active rendering: balapan digambar ke back buffer BufferStrategy oleh thread "race-render",
+// diatur sesuai refresh rate layar. EDT tidak ikut menggambar, jadi repaint Swing tidak menumpuk di sana.
+// Layout field (nama, lane, ukuran papan) diambil dari RaceCanvas yang sama dengan mode biasa.
+public class ActiveRaceView extends Canvas {
+
+    private static final int FALLBACK_REFRESH_RATE = 60;
+    private static final int BUFFER_COUNT = 2;
+    private static final long STOP_TIMEOUT_MS = 500;
+
+    public interface FrameSource {
+        // isi posisi tiap kuda, return index frame animasi yang digambar
+        int nextFrame(int[] positions);
+    }
+
+    private final RaceCanvas layout;
+    private volatile boolean running;
+    private Thread renderThread;
+
+    public ActiveRaceView(RaceCanvas layout) {
+        this.layout = layout;
+        //semua gambar dari thread render, paint dari AWT diabaikan
+        setIgnoreRepaint(true);
+        setBackground(new Color(139, 69, 19));
+    }
+
+    // false kalau canvas belum tampil di layar (BufferStrategy belum bisa dibuat)
+    public boolean start(FrameSource source) {
+        stop();
+        if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) {
+            return false;
+        }
+        createBufferStrategy(BUFFER_COUNT);
+        BufferStrategy strategy = getBufferStrategy();
+        long frameNanos = 1_000_000_000L / refreshRate();
+        int[] positions = new int[layout.getHorseCount()];
+
+        running = true;
+        renderThread = new Thread(() -> renderLoop(strategy, source, positions, frameNanos), "race-render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+        return true;
+    }
+
+    public void stop() {
+        running = false;
+        if (renderThread != null) {
+            try {
+                renderThread.join(STOP_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (renderThread.isAlive()) {
+                //masih di tengah frame: buffer dibiarkan, createBufferStrategy berikutnya menggantinya
+                System.err.println("Race render thread did not stop within " + STOP_TIMEOUT_MS + " ms");
+            } else {
+                //back buffer (bisa di VRAM) dilepas begitu balapan selesai, bukan menunggu start berikutnya
+                BufferStrategy strategy = getBufferStrategy();
+                if (strategy != null) {
+                    strategy.dispose();
+                }
+            }
+            renderThread = null;
+        }
+    }
+
+    public boolean isRendering() {
+        return running;
+    }
+
+    private void renderLoop(BufferStrategy strategy, FrameSource source, int[] positions, long frameNanos) {
+        RaceCanvas.PaintState paint = new RaceCanvas.PaintState();
+        long next = System.nanoTime();
+        PerformanceOverlay overlay = layout.getOverlay();
+        try {
+            while (running) {
+                if (overlay != null) {
+                    overlay.frameStarted();
+                }
+                int frame = source.nextFrame(positions);
+                int width = getWidth();
+                int height = getHeight();
+                paint.clip.setBounds(0, 0, width, height);
+                renderFrame(strategy, width, height, positions, frame, paint);
+                Toolkit.getDefaultToolkit().sync();
+
+                next += frameNanos;
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else {
+                    // telat satu frame atau lebih, jangan dikejar
+                    next = System.nanoTime();
+                }
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            running = false;
+        }
+    }
+
+    // buffer bisa hilang (mis. VRAM di-reset), ulangi sampai frame benar-benar tampil
+    private void renderFrame(BufferStrategy strategy, int width, int height, int[] positions, int frame,
+                             RaceCanvas.PaintState paint) {
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    layout.paintRace(g2d, width, height, positions, frame, paint);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+    }
+
+    private int refreshRate() {
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        if (config == null) {
+            return FALLBACK_REFRESH_RATE;
+        }
+        DisplayMode mode = config.getDevice().getDisplayMode();
+        int rate = mode.getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? FALLBACK_REFRESH_RATE : rate;
+    }
+}
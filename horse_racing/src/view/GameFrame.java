@@ -2,7 +2,11 @@ package view;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import model.Tournament;
 import model.User;
+import utils.RaceReplay;
 import utils.UserManager;
 
 public class GameFrame extends JFrame {
@@ -18,12 +22,20 @@ public class GameFrame extends JFrame {
     private RacePanel racePanel;
     private UpgradePanel upgradePanel;
     private HistoryPanel historyPanel;
+    private TournamentPanel tournamentPanel;
     
     public GameFrame() {
         userManager = new UserManager();
         
         setTitle("Horse Racing Game");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        //listener jalan sebelum EXIT_ON_CLOSE memanggil System.exit
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                racePanel.shutdown();
+            }
+        });
         
         setExtendedState(JFrame.MAXIMIZED_BOTH);
         setUndecorated(false);
@@ -50,6 +62,7 @@ public class GameFrame extends JFrame {
         racePanel = new RacePanel(this, userManager);
         upgradePanel = new UpgradePanel(this, userManager);
         historyPanel = new HistoryPanel(this, userManager);
+        tournamentPanel = new TournamentPanel(this);
         
         mainPanel.add(loginPanel, "login");
         mainPanel.add(registerPanel, "register");
@@ -58,6 +71,7 @@ public class GameFrame extends JFrame {
         mainPanel.add(racePanel, "race");
         mainPanel.add(upgradePanel, "upgrade");
         mainPanel.add(historyPanel, "history");
+        mainPanel.add(tournamentPanel, "tournament");
     }
     
     public void showPanel(String panelName) {
@@ -69,11 +83,23 @@ public class GameFrame extends JFrame {
             upgradePanel.updateStats();
         } else if (panelName.equals("history")) {
             historyPanel.loadHistory();
+        } else if (panelName.equals("tournament")) {
+            tournamentPanel.refreshDisplay();
         }
         
         cardLayout.show(mainPanel, panelName);
     }
     
+    public void showReplay(RaceReplay replay) {
+        cardLayout.show(mainPanel, "race");
+        racePanel.playReplay(replay);
+    }
+    
+    public void showTournamentHeat(Tournament tournament) {
+        cardLayout.show(mainPanel, "race");
+        racePanel.playTournamentHeat(tournament);
+    }
+    
     public User getCurrentUser() {
         return currentUser;
     }
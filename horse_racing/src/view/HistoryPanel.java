@@ -1,15 +1,18 @@
 package view;
 
 import java.awt.*;
-import java.util.List;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
 import javax.swing.*;
+import javax.swing.border.Border;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
 import model.RaceHistory;
+import utils.RaceReplay;
 import utils.UserManager;
 
 
@@ -17,7 +20,7 @@ public class HistoryPanel extends JPanel implements Displayable {
     private GameFrame gameFrame;
     private UserManager userManager;
     private JTable historyTable;
-    private DefaultTableModel tableModel;
+    private HistoryTableModel tableModel;
     private static final Font TABLE_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 14);
     private static final Font HEADER_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 15);
     private static final Font DIALOG_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 15);
@@ -26,6 +29,10 @@ public class HistoryPanel extends JPanel implements Displayable {
     private static final Color STRIPE_TWO = new Color(240, 233, 220);
     private static final Color TABLE_TEXT = new Color(38, 30, 22);
     private static final Color DIALOG_BG = new Color(36, 26, 18);
+    private static final Color SELECTION_BG = new Color(255, 215, 128);
+    //renderer dipanggil untuk tiap sel yang tergambar, jadi border dibuat sekali di sini
+    private static final Border CELL_BORDER = BorderFactory.createEmptyBorder(6, 8, 6, 8);
+    private static final Border HEADER_BORDER = BorderFactory.createEmptyBorder(10, 8, 10, 8);
     
     public HistoryPanel(GameFrame gameFrame, UserManager userManager) {
         this.gameFrame = gameFrame;
@@ -57,19 +64,27 @@ public class HistoryPanel extends JPanel implements Displayable {
         topPanel.add(titleLabel);
         add(topPanel, BorderLayout.NORTH);
 
-        String[] columnNames = {"Date & Time", "Horse", "Placement", "Total Racers", "Coins"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        //baris dimuat per halaman saat terlihat, bukan seluruh history sekaligus
+        tableModel = new HistoryTableModel(userManager);
         
         historyTable = new JTable(tableModel);
         styleHistoryTable();
+        historyTable.setToolTipText("Double-click a race to watch its replay");
+        historyTable.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    int row = historyTable.rowAtPoint(e.getPoint());
+                    RaceHistory history = row >= 0 ? tableModel.getHistory(row) : null;
+                    if (history != null) {
+                        openReplay(history);
+                    }
+                }
+            }
+        });
 
         JScrollPane scrollPane = new JScrollPane(historyTable);
-        scrollPane.setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_NEVER);
+        scrollPane.setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.setWheelScrollingEnabled(true);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
@@ -105,7 +120,7 @@ public class HistoryPanel extends JPanel implements Displayable {
         historyTable.setFillsViewportHeight(true);
         historyTable.setBackground(STRIPE_ONE);
         historyTable.setForeground(TABLE_TEXT);
-        historyTable.setSelectionBackground(new Color(255, 215, 128));
+        historyTable.setSelectionBackground(SELECTION_BG);
         historyTable.setSelectionForeground(Color.BLACK);
 
         StripedTableCellRenderer centerRenderer = new StripedTableCellRenderer(SwingConstants.CENTER);
@@ -118,45 +133,45 @@ public class HistoryPanel extends JPanel implements Displayable {
 
         JTableHeader header = historyTable.getTableHeader();
         header.setReorderingAllowed(false);
-        header.setDefaultRenderer(new DefaultTableCellRenderer() {
+        DefaultTableCellRenderer headerRenderer = new DefaultTableCellRenderer() {
             @Override
             public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
                                                            boolean hasFocus, int row, int column) {
-                JLabel label = (JLabel) super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                label.setHorizontalAlignment(SwingConstants.CENTER);
-                label.setFont(HEADER_FONT);
-                label.setOpaque(true);
-                label.setBackground(HEADER_BG);
-                label.setForeground(Color.WHITE);
-                label.setBorder(BorderFactory.createEmptyBorder(10, 8, 10, 8));
-                return label;
+                super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+                //super memakai font dan warna JTable, header punya sendiri
+                setFont(HEADER_FONT);
+                setBackground(HEADER_BG);
+                setForeground(Color.WHITE);
+                setBorder(HEADER_BORDER);
+                return this;
             }
-        });
+        };
+        headerRenderer.setHorizontalAlignment(SwingConstants.CENTER);
+        headerRenderer.setOpaque(true);
+        header.setDefaultRenderer(headerRenderer);
     }
 
-    // Renderer that aligns cells and alternates row background colors
+    // Renderer that aligns cells and alternates row background colors.
+    // Font comes from the table (TABLE_FONT); per cell only shared constants are assigned
     private class StripedTableCellRenderer extends DefaultTableCellRenderer {
-        private final int alignment;
 
         StripedTableCellRenderer(int alignment) {
-            this.alignment = alignment;
             setOpaque(true);
+            setHorizontalAlignment(alignment);
         }
 
         @Override
         public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
                                                        boolean hasFocus, int row, int column) {
             super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-            setHorizontalAlignment(alignment);
-            setFont(TABLE_FONT);
             if (isSelected) {
-                setBackground(new Color(255, 215, 128));
+                setBackground(SELECTION_BG);
                 setForeground(Color.BLACK);
             } else {
                 setBackground((row % 2 == 0) ? STRIPE_ONE : STRIPE_TWO);
                 setForeground(TABLE_TEXT);
             }
-            setBorder(BorderFactory.createEmptyBorder(6, 8, 6, 8));
+            setBorder(CELL_BORDER);
             return this;
         }
     }
@@ -274,30 +289,34 @@ public class HistoryPanel extends JPanel implements Displayable {
         return button;
     }
     
+    private void openReplay(RaceHistory history) {
+        if (!history.isReproducible() || !RaceReplay.exists(history.getSeed())) {
+            showFriendlyInfoDialog("No Replay", "There is no saved replay for this race.");
+            return;
+        }
+        try {
+            gameFrame.showReplay(RaceReplay.load(history.getSeed()));
+        } catch (IOException e) {
+            System.err.println("Error loading race replay: " + e.getMessage());
+            showFriendlyInfoDialog("No Replay", "This race's replay could not be read.");
+        }
+    }
+    
+    // panel langsung tampil; jumlah baris dan halaman pertama menyusul dari thread loader
     public void loadHistory() {
-        tableModel.setRowCount(0);
-        
-        if (gameFrame.getCurrentUser() != null) {
-            int userId = gameFrame.getCurrentUser().getUserId();
-            List<RaceHistory> histories = userManager.getUserHistory(userId);
-
-            for (RaceHistory history : histories) {
-                Object[] row = {
-                    history.getTimestamp(),
-                    history.getHorseName(),
-                    history.getPosition(),
-                    history.getTotalHorses(),
-                    history.getCoinsEarned()
-                };
-                tableModel.addRow(row);
-            }
-            
-            if (histories.isEmpty()) {
+        if (gameFrame.getCurrentUser() == null) {
+            tableModel.clear();
+            return;
+        }
+        int userId = gameFrame.getCurrentUser().getUserId();
+        tableModel.load(userId, count -> {
+            if (count == 0 && isShowing()) {
                 showFriendlyInfoDialog(
                     "No Race History",
                     "No race history yet. Play your first race to see it here!"
                 );
             }
-        }
+        });
+        historyTable.scrollRectToVisible(new Rectangle(0, 0, 1, 1));
     }
 }
@@ -0,0 +1,192 @@
+package view;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import model.RaceHistory;
+import utils.UserManager;
+import utils.UserManager.HistoryKey;
+
+// Tabel history virtual: JTable hanya tahu jumlah baris, isi baris dimuat per halaman saat terlihat.
+// Halaman dibaca dengan keyset (race_date, id) di thread "history-loader", hasilnya dipasang di EDT.
+// Isi halaman disimpan di LRU terbatas; kunci awal tiap halaman disimpan terus supaya halaman
+// yang tergusur bisa dimuat ulang dengan satu query. Lompatan jauh maju dari kunci terdekat yang
+// diketahui, per SEEK_PAGES halaman, dan menyimpan semua batas halaman yang dilewatinya.
+public class HistoryTableModel extends AbstractTableModel {
+
+    static final int PAGE_SIZE = 100;
+    // ~2000 baris di memori, berapa pun jumlah history user
+    private static final int MAX_CACHED_PAGES = 20;
+    // satu query lompatan membaca paling banyak sekian halaman kunci index
+    private static final int SEEK_PAGES = 50;
+    private static final String[] COLUMN_NAMES = {"Date & Time", "Horse", "Placement", "Total Racers", "Coins"};
+    private static final String LOADING = "...";
+
+    // satu thread: query tidak berebut koneksi dan halaman dimuat sesuai urutan diminta
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "history-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final UserManager userManager;
+    // halaman -> kunci baris terakhir halaman sebelumnya; halaman 0 = tidak ada (mulai dari yang terbaru).
+    // Diisi EDT dan thread loader; diganti map baru tiap clear() supaya query lama tidak mengisi map user baru
+    private volatile NavigableMap<Integer, HistoryKey> pageStarts = new ConcurrentSkipListMap<>();
+    // semua state di bawah hanya disentuh dari EDT
+    private final Map<Integer, List<RaceHistory>> pages = new LinkedHashMap<Integer, List<RaceHistory>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<RaceHistory>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> loading = new HashSet<>();
+    private int userId;
+    private int rowCount;
+    // naik tiap load(); hasil query dari load sebelumnya dibuang (dibaca juga oleh thread loader)
+    private volatile int generation;
+
+    public HistoryTableModel(UserManager userManager) {
+        this.userManager = userManager;
+    }
+
+    // mulai ulang untuk user ini; onCounted dipanggil di EDT dengan jumlah baris
+    public void load(int userId, IntConsumer onCounted) {
+        clear();
+        this.userId = userId;
+        int loadGeneration = generation;
+        LOADER.execute(() -> {
+            int count = userManager.countUserHistory(userId);
+            List<RaceHistory> first = count > 0 ? userManager.getUserHistoryPage(userId, null, PAGE_SIZE) : List.of();
+            SwingUtilities.invokeLater(() -> {
+                if (loadGeneration != generation) return;
+                rowCount = count;
+                pageLoaded(0, null, first);
+                fireTableDataChanged();
+                onCounted.accept(count);
+            });
+        });
+    }
+
+    public void clear() {
+        generation++;
+        pages.clear();
+        pageStarts = new ConcurrentSkipListMap<>();
+        loading.clear();
+        rowCount = 0;
+        fireTableDataChanged();
+    }
+
+    // null kalau halamannya belum dimuat
+    public RaceHistory getHistory(int row) {
+        List<RaceHistory> page = pages.get(row / PAGE_SIZE);
+        int index = row % PAGE_SIZE;
+        return page != null && index < page.size() ? page.get(index) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        List<RaceHistory> page = pages.get(row / PAGE_SIZE);
+        if (page == null) {
+            requestPage(row / PAGE_SIZE);
+            return LOADING;
+        }
+        //halaman lebih pendek dari perkiraan count (baris terhapus sejak dihitung)
+        if (row % PAGE_SIZE >= page.size()) {
+            return "";
+        }
+        RaceHistory history = page.get(row % PAGE_SIZE);
+        switch (column) {
+            case 0: return history.getTimestamp();
+            case 1: return history.getHorseName();
+            case 2: return history.getPosition();
+            case 3: return history.getTotalHorses();
+            default: return history.getCoinsEarned();
+        }
+    }
+
+    private void requestPage(int page) {
+        if (!loading.add(page)) return;
+
+        int loadUser = userId;
+        int loadGeneration = generation;
+        NavigableMap<Integer, HistoryKey> starts = pageStarts;
+
+        LOADER.execute(() -> {
+            if (loadGeneration != generation) return;
+            //kunci terdekat dibaca di sini, bukan saat diminta: lompatan yang antri sebelumnya
+            //mungkin sudah mengisi batas-batas halaman di dekatnya
+            Map.Entry<Integer, HistoryKey> known = starts.floorEntry(page);
+            int startPage = known != null ? known.getKey() : 0;
+            HistoryKey start = known != null ? known.getValue() : null;
+            boolean pastEnd = false;
+            while (startPage < page && !pastEnd) {
+                if (loadGeneration != generation) return;
+                int seekPages = Math.min(page - startPage, SEEK_PAGES);
+                List<HistoryKey> bounds = userManager.getUserHistoryPageStarts(loadUser, start, PAGE_SIZE, seekPages);
+                for (int i = 0; i < bounds.size(); i++) {
+                    starts.put(startPage + i + 1, bounds.get(i));
+                }
+                pastEnd = bounds.size() < seekPages;
+                if (!bounds.isEmpty()) {
+                    start = bounds.get(bounds.size() - 1);
+                }
+                startPage += bounds.size();
+            }
+            HistoryKey pageStart = start;
+            List<RaceHistory> rows = pastEnd
+                    ? List.of()
+                    : userManager.getUserHistoryPage(loadUser, pageStart, PAGE_SIZE);
+            SwingUtilities.invokeLater(() -> {
+                if (loadGeneration != generation) return;
+                loading.remove(page);
+                pageLoaded(page, pageStart, rows);
+                int firstRow = page * PAGE_SIZE;
+                int lastRow = Math.min(rowCount, firstRow + PAGE_SIZE) - 1;
+                if (lastRow >= firstRow) {
+                    fireTableRowsUpdated(firstRow, lastRow);
+                }
+            });
+        });
+    }
+
+    private void pageLoaded(int page, HistoryKey start, List<RaceHistory> rows) {
+        pages.put(page, rows);
+        //halaman 0 tidak butuh kunci; halaman kosong (lompatan melewati akhir data) tidak punya kunci yang valid
+        if (page > 0 && !rows.isEmpty()) {
+            pageStarts.put(page, start);
+        }
+        if (rows.size() == PAGE_SIZE) {
+            pageStarts.put(page + 1, HistoryKey.of(rows.get(PAGE_SIZE - 1)));
+        }
+    }
+}
@@ -1,23 +1,19 @@
 package view;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
 import model.Horse;
 import model.User;
+import utils.ImageRegistry;
 import utils.UserManager;
 
 public class HorseSelectionPanel extends JPanel {
     private GameFrame gameFrame;
     private UserManager userManager;
     private JTextField horseNameField;
-    private BufferedImage backgroundImage;
     private static final Font TITLE_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 32);
     private static final Font LABEL_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 16);
     private static final Font BODY_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 14);
@@ -30,12 +26,6 @@ public class HorseSelectionPanel extends JPanel {
     public HorseSelectionPanel(GameFrame gameFrame, UserManager userManager) {
         this.gameFrame = gameFrame;
         this.userManager = userManager;
-
-        try {
-            backgroundImage = ImageIO.read(new File("assets/background.jpg"));
-        } catch (IOException e) {
-            System.err.println("Failed to load background image: " + e.getMessage());
-        }
         
         setLayout(new GridBagLayout());
         
@@ -45,10 +35,8 @@ public class HorseSelectionPanel extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (backgroundImage != null) {
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), null);
-        }
+        ImageRegistry.drawBackground(g, ImageRegistry.BACKGROUND, getWidth(), getHeight(),
+                ImageRegistry.Quality.SMOOTH, null);
     }
     
     private void initComponents() {
@@ -0,0 +1,177 @@
+package view;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.util.List;
+import javax.swing.JLabel;
+import model.FinishBoard;
+import model.LargeFieldRace;
+import model.RaceEngine;
+import model.RaceEvent;
+import model.RaceEventBus;
+import model.RaceHorse;
+import utils.ReplayRecorder;
+
+// Jalur balapan live dari thread engine sampai label hasil: engine -> ring buffer -> drain per frame -> label.
+// RacePanel dan FrameLoopAllocationTest memakai kelas yang sama, jadi yang dicek tes alokasi adalah kode game.
+// Semua method kecuali listener engine dipanggil di thread frame (EDT di game).
+class LiveRaceFeed implements RaceEngine.RaceListener {
+
+    //warna label hasil dibuat sekali, bukan tiap ada kuda finish
+    private static final Color[] PODIUM_COLORS = {
+        new Color(255, 215, 0), new Color(192, 192, 192), new Color(205, 127, 50)
+    };
+    private static final Color OTHER_PLACE_COLOR = new Color(100, 100, 100);
+    static final Color EMPTY_RESULT_COLOR = new Color(80, 50, 30);
+
+    private final RaceEventBus events;
+    //ditulis thread engine tanpa lock; thread frame membaca dari cursor resultsShown
+    private final FinishBoard finishBoard;
+    private final JLabel[] resultLabels;
+    private final RaceEventBus.EventHandler handler = this::onEvent;
+    private List<RaceHorse> horses = List.of();
+    //teks label [posisi][kuda], disusun saat field dipasang supaya kuda finish tidak membuat string
+    private String[][] finishTexts = new String[0][0];
+    private int resultsShown;
+    //hanya ada selama balapan live; null kalau tidak ada yang menguras (quick race, replay)
+    private RaceEventBus.Subscription subscription;
+    private RaceEngine engine;
+    private ReplayRecorder recorder;
+    private boolean newFinishers;
+    private boolean raceEnded;
+
+    LiveRaceFeed(RaceEventBus events, FinishBoard finishBoard, JLabel[] resultLabels) {
+        this.events = events;
+        this.finishBoard = finishBoard;
+        this.resultLabels = resultLabels;
+    }
+
+    void setField(List<RaceHorse> fieldHorses) {
+        horses = fieldHorses;
+        int places = Math.min(resultLabels.length, fieldHorses.size());
+        finishTexts = new String[places][fieldHorses.size()];
+        for (int place = 0; place < places; place++) {
+            String rankText = RacePanel.getRankingSuffix(place + 1);
+            for (int i = 0; i < fieldHorses.size(); i++) {
+                RaceHorse horse = fieldHorses.get(i);
+                finishTexts[place][i] = rankText + " " + horse.getName() + (horse.isPlayer() ? " ★" : "");
+            }
+        }
+    }
+
+    // recorder null = tidak direkam (heat turnamen)
+    void start(RaceEngine raceEngine, ReplayRecorder raceRecorder) {
+        stop();
+        engine = raceEngine;
+        recorder = raceRecorder;
+        newFinishers = false;
+        raceEnded = false;
+        //thread engine tidak boleh ditahan panel: subscription non-blocking, dibuang lagi di stop()
+        subscription = events.subscribeNonBlocking();
+        if (recorder != null) {
+            engine.addListener(recorder);
+        }
+        //thread engine hanya publish ke ring buffer, tidak ada invokeLater per event
+        engine.addListener(this);
+    }
+
+    void stop() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public void onTick(int tick) {
+        events.publishTick(tick);
+    }
+
+    @Override
+    public void onHorseFinished(RaceHorse horse, int place) {
+        finishBoard.record(horse);
+        events.publishFinish(horse, place);
+    }
+
+    @Override
+    public void onRaceComplete(List<RaceHorse> result) {
+        if (recorder != null) {
+            try {
+                recorder.save();
+            } catch (IOException e) {
+                System.err.println("Failed to save race replay: " + e.getMessage());
+            }
+        }
+        events.publishComplete(engine.getTickCount());
+    }
+
+    // satu batch event per frame: label hasil diupdate sekali walau beberapa kuda finish sekaligus.
+    // return true sekali saat balapan selesai
+    boolean drainFrame() {
+        if (subscription != null) {
+            subscription.drain(handler);
+        }
+        if (newFinishers) {
+            newFinishers = false;
+            showNewFinishers();
+        }
+        if (raceEnded) {
+            raceEnded = false;
+            return true;
+        }
+        return false;
+    }
+
+    private void onEvent(RaceEvent event, boolean endOfBatch) {
+        if (event.getType() == RaceEvent.Type.FINISH) {
+            newFinishers = true;
+        } else if (event.getType() == RaceEvent.Type.COMPLETE) {
+            raceEnded = true;
+        }
+    }
+
+    //hanya label untuk kuda yang baru finish yang diubah
+    void showNewFinishers() {
+        RaceHorse horse;
+        while (resultsShown < finishTexts.length && (horse = finishBoard.get(resultsShown)) != null) {
+            showResult(resultsShown, finishTexts[resultsShown][horses.indexOf(horse)]);
+            resultsShown++;
+        }
+    }
+
+    // stampede tidak lewat FinishBoard; label hanya untuk posisi teratas, jadi string dibuat paling banyak 5x
+    void showLargeFieldFinishers(LargeFieldRace race, String[] names) {
+        while (resultsShown < resultLabels.length && resultsShown < race.getFinishedCount()) {
+            int horse = race.getHorseAtPlace(resultsShown + 1);
+            showResult(resultsShown, RacePanel.getRankingSuffix(resultsShown + 1) + " " + names[horse]
+                    + (horse == race.getPlayerIndex() ? " ★" : ""));
+            resultsShown++;
+        }
+    }
+
+    private void showResult(int i, String text) {
+        resultLabels[i].setText(text);
+        if (i < PODIUM_COLORS.length) {
+            resultLabels[i].setBackground(PODIUM_COLORS[i]);
+            resultLabels[i].setForeground(i < 2 ? Color.BLACK : Color.WHITE);
+        } else {
+            resultLabels[i].setBackground(OTHER_PLACE_COLOR);
+            resultLabels[i].setForeground(Color.WHITE);
+        }
+    }
+
+    //dipanggil saat tidak ada balapan yang menulis ke board
+    void resetResults() {
+        finishBoard.reset();
+        resultsShown = 0;
+        for (int i = 0; i < resultLabels.length; i++) {
+            resultLabels[i].setText("-");
+            resultLabels[i].setBackground(EMPTY_RESULT_COLOR);
+            resultLabels[i].setForeground(Color.LIGHT_GRAY);
+        }
+    }
+
+    int getResultsShown() {
+        return resultsShown;
+    }
+}
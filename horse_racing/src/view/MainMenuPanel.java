@@ -1,34 +1,25 @@
 package view;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
 import model.Horse;
 import model.User;
+import utils.ImageRegistry;
 
 public class MainMenuPanel extends JPanel implements Displayable {
     private GameFrame gameFrame;
     private JLabel userInfoLabel;
     private JLabel horseInfoLabel;
     private JLabel coinsLabel;
-    private BufferedImage backgroundImage;
     private static final Font DIALOG_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 15);
     
     public MainMenuPanel(GameFrame gameFrame) {
         this.gameFrame = gameFrame;
         
         setLayout(new GridBagLayout());
-
-        try {
-            backgroundImage = ImageIO.read(new File("assets/background.jpg"));
-        } catch (Exception e) {
-            System.out.println("Could not load background image: " + e.getMessage());
-        }
         
         initComponents();
     }
@@ -46,14 +37,8 @@ public class MainMenuPanel extends JPanel implements Displayable {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (backgroundImage != null) {
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-            g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-        } else {
-            g.setColor(new Color(139, 69, 19));
-            g.fillRect(0, 0, getWidth(), getHeight());
-        }
+        ImageRegistry.drawBackground(g, ImageRegistry.BACKGROUND, getWidth(), getHeight(),
+                ImageRegistry.Quality.SMOOTH, new Color(139, 69, 19));
     }
     
     private void initComponents() {
@@ -74,7 +59,7 @@ public class MainMenuPanel extends JPanel implements Displayable {
         };
         contentPanel.setOpaque(false);
         contentPanel.setLayout(new GridBagLayout());
-        contentPanel.setPreferredSize(new Dimension(500, 600));
+        contentPanel.setPreferredSize(new Dimension(500, 670));
         
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.insets = new Insets(10, 20, 10, 20);
@@ -156,6 +141,11 @@ public class MainMenuPanel extends JPanel implements Displayable {
         contentPanel.add(historyButton, gbc);
 
         gbc.gridy = 5;
+        JButton tournamentButton = createStyledButton("TOURNAMENT", new Color(128, 0, 128));
+        tournamentButton.addActionListener(e -> gameFrame.showPanel("tournament"));
+        contentPanel.add(tournamentButton, gbc);
+
+        gbc.gridy = 6;
         gbc.insets = new Insets(8, 20, 20, 20);
         JButton logoutButton = createStyledButton("LOGOUT", new Color(178, 34, 34));
         logoutButton.addActionListener(e -> {
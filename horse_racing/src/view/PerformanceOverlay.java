@@ -0,0 +1,159 @@
+package view;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.function.LongConsumer;
+import javax.swing.Timer;
+import utils.EdtStallDetector;
+import utils.FrameStats;
+import utils.HorseAssets;
+
+// Overlay performa layar balapan (F3): jarak antar frame, waktu paint, jitter tick engine,
+// latency antrian EDT dan jumlah macet EDT beserta lokasinya. Teks disusun ulang tiap REFRESH_MS;
+// saat tersembunyi semua pencatatan berhenti di satu cek volatile dan watchdog EDT tidak jalan.
+public class PerformanceOverlay {
+
+    private static final int REFRESH_MS = 500;
+    private static final int X = 10;
+    private static final int Y = 10;
+    private static final int WIDTH = 390;
+    private static final int PADDING = 6;
+    private static final int LINE_HEIGHT = 15;
+    private static final int LINE_COUNT = 6;
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+    private static final Color TEXT = new Color(120, 255, 120);
+    private static final Color WARNING = new Color(255, 120, 90);
+
+    private final FrameStats frameIntervals = new FrameStats();
+    private final FrameStats paintTimes = new FrameStats();
+    private final FrameStats tickJitter = new FrameStats();
+    private final FrameStats edtLatency = new FrameStats();
+    private final EdtStallDetector stallDetector = new EdtStallDetector(edtLatency);
+    private final LongConsumer tickJitterSink = this::recordTickJitter;
+    private final Rectangle bounds = new Rectangle(X, Y, WIDTH, LINE_COUNT * LINE_HEIGHT + 2 * PADDING);
+    private final Timer refreshTimer;
+    private final Runnable onRefresh;
+    private volatile boolean shown;
+    private volatile String[] lines = new String[0];
+    private volatile boolean stalled;
+    private volatile long lastFrameStart;
+
+    // onRefresh dipanggil di EDT tiap teks berubah, untuk repaint area getBounds()
+    public PerformanceOverlay(Runnable onRefresh) {
+        this.onRefresh = onRefresh;
+        this.refreshTimer = new Timer(REFRESH_MS, e -> refresh());
+    }
+
+    public boolean isShown() {
+        return shown;
+    }
+
+    public void setShown(boolean show) {
+        if (show == shown) {
+            return;
+        }
+        shown = show;
+        lastFrameStart = 0;
+        if (show) {
+            stallDetector.start();
+            refresh();
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+            stallDetector.stop();
+            lines = new String[0];
+            onRefresh.run();
+        }
+    }
+
+    // awal satu frame (timer frame di EDT atau loop thread render), mencatat jarak dari frame sebelumnya
+    public void frameStarted() {
+        if (!shown) return;
+        long now = System.nanoTime();
+        long previous = lastFrameStart;
+        if (previous != 0) {
+            frameIntervals.record(now - previous);
+        }
+        lastFrameStart = now;
+    }
+
+    // loop frame berhenti (balapan selesai, pause): jeda berikutnya bukan frame yang lambat
+    public void framesStopped() {
+        lastFrameStart = 0;
+    }
+
+    public void recordPaint(long nanos) {
+        paintTimes.record(nanos);
+    }
+
+    // untuk RaceEngine.setTickJitterObserver; satu instance, tidak dibuat per balapan
+    public LongConsumer tickJitterSink() {
+        return tickJitterSink;
+    }
+
+    public Rectangle getBounds() {
+        return bounds;
+    }
+
+    // dipanggil terakhir di paintRace, dari EDT atau thread render
+    public void paint(Graphics2D g2d) {
+        String[] text = lines;
+        if (text.length == 0) return;
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        g2d.setFont(FONT);
+        for (int i = 0; i < text.length; i++) {
+            g2d.setColor(i == text.length - 1 && stalled ? WARNING : TEXT);
+            g2d.drawString(text[i], X + PADDING, Y + PADDING + (i + 1) * LINE_HEIGHT - 3);
+        }
+    }
+
+    private void recordTickJitter(long lateNanos) {
+        if (!shown) return;
+        tickJitter.record(Math.abs(lateNanos));
+    }
+
+    private void refresh() {
+        int stalls = stallDetector.getStallCount();
+        stalled = stalls > 0;
+        lines = new String[] {
+            line("frame", frameIntervals),
+            line("paint", paintTimes),
+            line("tick jitter", tickJitter),
+            line("EDT queue", edtLatency),
+            "blits: " + HorseAssets.getAcceleratedBlits() + " accelerated, "
+                    + HorseAssets.getUnacceleratedBlits() + " not",
+            "EDT stalls >" + stallDetector.getThresholdNanos() / 1_000_000 + " ms: " + stalls
+                    + lastStallLocation()
+        };
+        onRefresh.run();
+    }
+
+    private static String line(String label, FrameStats stats) {
+        return String.format("%-11s p50 %5.1f p95 %5.1f p99 %5.1f max %5.1f",
+                label, millis(stats.percentile(0.5)), millis(stats.percentile(0.95)),
+                millis(stats.percentile(0.99)), millis(stats.max()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // frame pertama yang bukan kode JDK, biasanya itulah yang menahan EDT
+    private String lastStallLocation() {
+        StackTraceElement[] stack = stallDetector.getLastStallStack();
+        if (stack == null) return "";
+        for (StackTraceElement element : stack) {
+            String name = element.getClassName();
+            if (!name.startsWith("java.") && !name.startsWith("javax.")
+                    && !name.startsWith("sun.") && !name.startsWith("jdk.")) {
+                return " (" + element.getClassName().substring(name.lastIndexOf('.') + 1)
+                        + "." + element.getMethodName() + ":" + element.getLineNumber() + ")";
+            }
+        }
+        return stack.length > 0 ? " (" + stack[0].getMethodName() + ")" : "";
+    }
+}
@@ -0,0 +1,448 @@
+package view;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.JComponent;
+import model.RaceHorse;
+import utils.FrameAtlas;
+import utils.HorseAssets;
+
+// Lintasan, kuda dan papan nama digambar dalam satu paintComponent, tanpa JLabel per kuda.
+// Tiap frame hanya area di sekitar sprite yang bergerak yang di-repaint.
+// Field besar (stampede di RacePanel): lane tidak diperas di bawah MIN_LANE_HEIGHT x zoom, kamera mengikuti
+// lane player dan hanya lane yang terlihat yang digambar/di-repaint, jadi biayanya tidak tergantung jumlah kuda.
+// Kamera hanya vertikal: panjang track selalu diturunkan dari lebar panel, jadi seluruh track selalu muat.
+public class RaceCanvas extends JComponent {
+
+    public static final int TRACK_START_X = 100;
+    private static final int DEFAULT_LANE_HEIGHT = 110;
+    private static final int MIN_LANE_HEIGHT = 80;
+    public static final double MIN_ZOOM = 0.25;
+    //di bawah skala ini papan nama lawan disembunyikan, hanya papan player yang tetap tampil
+    private static final double PLATE_MIN_SCALE = 0.5;
+    private static final int NAME_PLATE_TOP = 5;
+    private static final Font PLAYER_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 13);
+    private static final Font COMPETITOR_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 11);
+    private static final Color PLATE_BACKGROUND = new Color(255, 255, 255, 200);
+    private static final Color FALLBACK_HORSE = new Color(101, 67, 33);
+    private static final BasicStroke PLATE_BORDER = new BasicStroke(2);
+    private static final Color LANE_SEPARATOR = new Color(255, 255, 255, 90);
+    private static final int FALLBACK_SPRITE_WIDTH = 80;
+    private static final int FALLBACK_SPRITE_HEIGHT = 40;
+    //cek akselerasi atlas (membuat objek ImageCapabilities) hanya sekali tiap ACCELERATION_SAMPLE paint
+    private static final int ACCELERATION_SAMPLE = 64;
+
+    private final BufferedImage trackImage;
+    //track yang sudah di-scale + garis lane, dibuat ulang hanya kalau ukuran berubah.
+    //volatile karena ActiveRaceView membacanya dari thread render
+    private volatile BufferedImage trackCache;
+    //tinggi lane yang garisnya sudah ada di trackCache, 0 = garis digambar per frame (mode kamera)
+    private volatile int bakedLaneHeight;
+    private volatile double zoom = 1.0;
+    private int laneCount;
+    private int playerLane;
+    //kebalikan lanes[]: index kuda di tiap lane, -1 kalau kosong
+    private int[] laneHorses = new int[0];
+    private int horseCount;
+    private String[] names = new String[0];
+    private boolean[] players = new boolean[0];
+    private int[] lanes = new int[0];
+    private int[] positions = new int[0];
+    private int[] plateWidths = new int[0];
+    //papan nama digambar sekali per field, tiap frame cukup blit (tanpa drawString)
+    private BufferedImage[] plates = new BufferedImage[0];
+    private int plateHeight;
+    private int spriteWidth;
+    private int spriteHeight;
+    private int frameIndex;
+    private final Rectangle dirty = new Rectangle();
+    //state paintRace milik EDT; thread render punya PaintState sendiri
+    private final PaintState edtPaint = new PaintState();
+    private int lastLaneHeight;
+    private int lastCameraTop;
+    private PerformanceOverlay overlay;
+
+    public RaceCanvas(BufferedImage trackImage, int laneCount) {
+        this.trackImage = trackImage;
+        this.laneCount = laneCount;
+        setOpaque(true);
+        setBackground(new Color(139, 69, 19));
+        //pindah ke layar dengan format piksel lain: frame kuda dan cache track dibuat ulang untuk layar itu
+        addPropertyChangeListener("graphicsConfiguration", e -> {
+            HorseAssets.ensureFramesFor(getGraphicsConfiguration());
+            trackCache = null;
+            rebuildTrack();
+            renderPlates();
+            repaint();
+        });
+    }
+
+    public void setField(List<RaceHorse> horses, int[] laneMappings) {
+        String[] horseNames = new String[horses.size()];
+        boolean[] playerFlags = new boolean[horses.size()];
+        for (int i = 0; i < horseNames.length; i++) {
+            horseNames[i] = horses.get(i).getName();
+            playerFlags[i] = horses.get(i).isPlayer();
+        }
+        setField(horseNames, playerFlags, laneMappings);
+        for (int i = 0; i < horseCount; i++) {
+            positions[i] = horses.get(i).getPosition();
+        }
+    }
+
+    // field baru: ukuran papan nama dihitung sekali di sini, bukan tiap frame.
+    // Tanpa RaceHorse supaya field besar (LargeFieldRace) bisa digambar langsung dari array
+    public void setField(String[] horseNames, boolean[] playerFlags, int[] laneMappings) {
+        horseCount = horseNames.length;
+        names = new String[horseCount];
+        players = new boolean[horseCount];
+        lanes = laneMappings.clone();
+        positions = new int[horseCount];
+        int lanesNeeded = 1;
+        for (int i = 0; i < horseCount; i++) {
+            lanesNeeded = Math.max(lanesNeeded, lanes[i] + 1);
+        }
+        laneCount = lanesNeeded;
+        laneHorses = new int[laneCount];
+        Arrays.fill(laneHorses, -1);
+        for (int i = 0; i < horseCount; i++) {
+            laneHorses[lanes[i]] = i;
+        }
+        plateWidths = new int[horseCount];
+
+        FontMetrics playerMetrics = getFontMetrics(PLAYER_FONT);
+        FontMetrics competitorMetrics = getFontMetrics(COMPETITOR_FONT);
+        plateHeight = playerMetrics.getHeight() + 8;
+        if (HorseAssets.hasPreRenderedFrames()) {
+            Dimension frameDim = HorseAssets.getPreRenderedDimensions();
+            spriteWidth = frameDim.width;
+            spriteHeight = frameDim.height;
+        } else {
+            spriteWidth = FALLBACK_SPRITE_WIDTH;
+            spriteHeight = FALLBACK_SPRITE_HEIGHT;
+        }
+        playerLane = 0;
+        for (int i = 0; i < horseCount; i++) {
+            players[i] = playerFlags[i];
+            names[i] = players[i] ? horseNames[i] + " (YOU)" : horseNames[i];
+            if (players[i]) {
+                playerLane = lanes[i];
+            }
+            FontMetrics metrics = players[i] ? playerMetrics : competitorMetrics;
+            plateWidths[i] = metrics.stringWidth(names[i]) + (players[i] ? 14 : 8);
+        }
+        renderPlates();
+        rebuildTrack();
+        repaint();
+    }
+
+    // 1.0 = lane normal; lebih kecil = lebih banyak lane terlihat (hanya berefek kalau field tidak muat)
+    public void setZoom(double newZoom) {
+        double clamped = Math.max(MIN_ZOOM, Math.min(1.0, newZoom));
+        if (clamped == zoom) return;
+        zoom = clamped;
+        rebuildTrack();
+        repaint();
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    private void renderPlates() {
+        BufferedImage[] rendered = new BufferedImage[horseCount];
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        for (int i = 0; i < horseCount; i++) {
+            rendered[i] = config != null
+                    ? config.createCompatibleImage(plateWidths[i], plateHeight, Transparency.TRANSLUCENT)
+                    : new BufferedImage(plateWidths[i], plateHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = rendered[i].createGraphics();
+            try {
+                paintNamePlate(g2d, i);
+            } finally {
+                g2d.dispose();
+            }
+        }
+        plates = rendered;
+    }
+
+    public void clearField() {
+        horseCount = 0;
+        Arrays.fill(laneHorses, -1);
+        repaint();
+    }
+
+    // posisi baru + frame animasi; repaint hanya bounding box lama dan baru tiap kuda yang berubah,
+    // dan hanya untuk lane yang terlihat kamera
+    public void update(int[] newPositions, int newFrameIndex) {
+        boolean frameChanged = newFrameIndex != frameIndex;
+        frameIndex = newFrameIndex;
+        int height = getHeight();
+        int laneHeight = laneHeight(height);
+        int cameraTop = cameraTop(height, laneHeight);
+        double scale = spriteScale(laneHeight);
+
+        if (laneHeight != lastLaneHeight || cameraTop != lastCameraTop) {
+            //zoom/resize: semua bergeser, repaint penuh
+            lastLaneHeight = laneHeight;
+            lastCameraTop = cameraTop;
+            System.arraycopy(newPositions, 0, positions, 0, horseCount);
+            repaint();
+            return;
+        }
+
+        int lastLane = lastVisibleLane(height, laneHeight, cameraTop);
+        for (int lane = firstVisibleLane(laneHeight, cameraTop); lane <= lastLane; lane++) {
+            int i = laneHorses[lane];
+            if (i < 0) continue;
+            int oldPosition = positions[i];
+            int newPosition = newPositions[i];
+            if (oldPosition == newPosition && !frameChanged) continue;
+
+            spriteBounds(i, oldPosition, laneHeight, cameraTop, scale, dirty);
+            int left = dirty.x;
+            int right = dirty.x + dirty.width;
+            spriteBounds(i, newPosition, laneHeight, cameraTop, scale, dirty);
+            left = Math.min(left, dirty.x);
+            right = Math.max(right, dirty.x + dirty.width);
+            repaint(left, dirty.y, right - left, dirty.height);
+        }
+        //kuda di luar layar tetap diikuti posisinya supaya benar saat masuk ke layar
+        System.arraycopy(newPositions, 0, positions, 0, horseCount);
+    }
+
+    // dipanggil dari updateTrackSize(); gambar mahal (scale bilinear) dilakukan sekali per ukuran
+    public void rebuildTrack() {
+        int width = getWidth();
+        int height = getHeight();
+        int laneHeight = laneHeight(height);
+        //garis lane hanya bisa dipanggang kalau seluruh field muat di layar (kamera diam)
+        int baked = laneHeight * laneCount <= height ? laneHeight : 0;
+        BufferedImage cached = trackCache;
+        if (width <= 0 || height <= 0
+                || (cached != null && cached.getWidth() == width && cached.getHeight() == height
+                    && bakedLaneHeight == baked)) {
+            return;
+        }
+
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        BufferedImage image = config != null
+                ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setColor(getBackground());
+            g2d.fillRect(0, 0, width, height);
+            if (trackImage != null) {
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                                     RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g2d.drawImage(trackImage, 0, 0, width, height, null);
+            }
+            if (baked > 0) {
+                g2d.setColor(LANE_SEPARATOR);
+                for (int lane = 1; lane < laneCount; lane++) {
+                    g2d.fillRect(0, lane * laneHeight - 1, width, 2);
+                }
+            }
+        } finally {
+            g2d.dispose();
+        }
+        bakedLaneHeight = baked;
+        trackCache = image;
+    }
+
+    public int getLaneHeight() {
+        return laneHeight(getHeight());
+    }
+
+    //posisi Y (top) dari lane ke-`laneIndex` di layar, sudah dikurangi posisi kamera
+    public int getLaneTop(int laneIndex) {
+        int laneHeight = getLaneHeight();
+        return laneHeight * laneIndex - cameraTop(getHeight(), laneHeight);
+    }
+
+    // field kecil: lane dibagi rata seperti biasa; field besar: minimal MIN_LANE_HEIGHT x zoom
+    private int laneHeight(int height) {
+        if (height <= 0) {
+            // fallback kalau belum ter-layout
+            return DEFAULT_LANE_HEIGHT;
+        }
+        int fit = height / laneCount;
+        return Math.max(1, Math.max(fit, (int) Math.round(MIN_LANE_HEIGHT * zoom)));
+    }
+
+    // kamera vertikal: lane player di tengah layar, dibatasi tepi atas/bawah field
+    private int cameraTop(int height, int laneHeight) {
+        int worldHeight = laneHeight * laneCount;
+        if (worldHeight <= height) {
+            return 0;
+        }
+        int target = playerLane * laneHeight + laneHeight / 2 - height / 2;
+        return Math.max(0, Math.min(target, worldHeight - height));
+    }
+
+    private double spriteScale(int laneHeight) {
+        return Math.min(1.0, laneHeight / (double) DEFAULT_LANE_HEIGHT);
+    }
+
+    // sprite bisa lebih tinggi dari lane, jadi satu lane di atas/bawah layar ikut dihitung
+    private int firstVisibleLane(int laneHeight, int cameraTop) {
+        return Math.max(0, cameraTop / laneHeight - 1);
+    }
+
+    private int lastVisibleLane(int height, int laneHeight, int cameraTop) {
+        return Math.min(laneCount - 1, (cameraTop + height) / laneHeight + 1);
+    }
+
+    private boolean showsPlate(int i, double scale) {
+        return players[i] || scale >= PLATE_MIN_SCALE;
+    }
+
+    // sprite + papan nama kuda `i` kalau berada di `position`, dalam koordinat layar
+    private void spriteBounds(int i, int position, int laneHeight, int cameraTop, double scale, Rectangle out) {
+        int x = TRACK_START_X + position;
+        int width = (int) (spriteWidth * scale);
+        int height = (int) (spriteHeight * scale);
+        int laneY = laneHeight * lanes[i] - cameraTop;
+        int spriteY = laneY + (laneHeight - height) / 2;
+
+        int left = x;
+        int right = x + width;
+        int top = spriteY;
+        int bottom = spriteY + height;
+        if (showsPlate(i, scale)) {
+            int plateX = x + (width - plateWidths[i]) / 2;
+            left = Math.min(left, plateX);
+            right = Math.max(right, plateX + plateWidths[i]);
+            top = Math.min(top, laneY + NAME_PLATE_TOP);
+            bottom = Math.max(bottom, laneY + NAME_PLATE_TOP + plateHeight);
+        }
+        out.setBounds(left, top, right - left, bottom - top);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        //getClipBounds(Rectangle) mengisi rect yang sudah ada; tanpa clip = seluruh komponen
+        edtPaint.clip.setBounds(0, 0, getWidth(), getHeight());
+        g.getClipBounds(edtPaint.clip);
+        paintRace((Graphics2D) g, getWidth(), getHeight(), positions, frameIndex, edtPaint);
+    }
+
+    // rect kerja dan sampel akselerasi satu pemanggil paintRace; tiap thread punya instance sendiri
+    static final class PaintState {
+        // diisi pemanggil sebelum paintRace
+        final Rectangle clip = new Rectangle();
+        private final Rectangle bounds = new Rectangle();
+        private int paintCount;
+        private boolean accelerated;
+    }
+
+    // dipakai juga oleh ActiveRaceView dari thread render-nya sendiri, dengan posisi dan PaintState milik thread itu.
+    // Field hanya diganti lewat setField saat tidak ada thread render yang berjalan.
+    void paintRace(Graphics2D g2d, int width, int height, int[] drawPositions, int drawFrame, PaintState state) {
+        Rectangle clip = state.clip;
+        Rectangle bounds = state.bounds;
+        PerformanceOverlay perf = overlay;
+        long paintStart = perf != null && perf.isShown() ? System.nanoTime() : 0;
+        BufferedImage track = trackCache;
+        if (track != null && track.getWidth() == width && track.getHeight() == height) {
+            //satu blit tanpa scaling, dipotong ke clip oleh Graphics
+            g2d.drawImage(track, 0, 0, null);
+        } else {
+            //belum di-cache untuk ukuran ini (resize belum diproses)
+            g2d.setColor(getBackground());
+            g2d.fillRect(clip.x, clip.y, clip.width, clip.height);
+            if (trackImage != null) {
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                                     RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2d.drawImage(trackImage, 0, 0, width, height, null);
+            }
+        }
+
+        FrameAtlas atlas = HorseAssets.getFrameAtlas();
+        if (state.paintCount++ % ACCELERATION_SAMPLE == 0) {
+            state.accelerated = atlas != null && atlas.isAccelerated(g2d.getDeviceConfiguration());
+        }
+        int blits = 0;
+        int laneHeight = laneHeight(height);
+        int cameraTop = cameraTop(height, laneHeight);
+        double scale = spriteScale(laneHeight);
+        int drawWidth = (int) (spriteWidth * scale);
+        int drawHeight = (int) (spriteHeight * scale);
+        int firstLane = firstVisibleLane(laneHeight, cameraTop);
+        int lastLane = lastVisibleLane(height, laneHeight, cameraTop);
+
+        if (bakedLaneHeight != laneHeight || cameraTop != 0) {
+            //mode kamera: garis lane ikut bergeser, digambar hanya untuk lane yang terlihat
+            g2d.setColor(LANE_SEPARATOR);
+            for (int lane = Math.max(1, firstLane); lane <= lastLane; lane++) {
+                g2d.fillRect(clip.x, lane * laneHeight - cameraTop - 1, clip.width, 2);
+            }
+        }
+
+        //lane di luar layar tidak disentuh sama sekali
+        for (int lane = firstLane; lane <= lastLane; lane++) {
+            int i = laneHorses[lane];
+            if (i < 0) continue;
+            spriteBounds(i, drawPositions[i], laneHeight, cameraTop, scale, bounds);
+            if (!bounds.intersects(clip)) continue;
+
+            int x = TRACK_START_X + drawPositions[i];
+            int laneY = laneHeight * lane - cameraTop;
+            int spriteY = laneY + (laneHeight - drawHeight) / 2;
+            if (atlas != null) {
+                atlas.draw(g2d, drawFrame, x, spriteY, drawWidth, drawHeight);
+                blits++;
+            } else {
+                g2d.setColor(FALLBACK_HORSE);
+                g2d.fillOval(x, spriteY, drawWidth, drawHeight);
+            }
+            if (showsPlate(i, scale)) {
+                g2d.drawImage(plates[i], x + (drawWidth - plateWidths[i]) / 2, laneY + NAME_PLATE_TOP, null);
+            }
+        }
+        HorseAssets.countBlits(blits, state.accelerated);
+        if (paintStart != 0) {
+            perf.recordPaint(System.nanoTime() - paintStart);
+            perf.paint(g2d);
+        }
+    }
+
+    // digambar paling atas di kedua mode; null = tidak ada overlay
+    public void setOverlay(PerformanceOverlay overlay) {
+        this.overlay = overlay;
+    }
+
+    PerformanceOverlay getOverlay() {
+        return overlay;
+    }
+
+    int getHorseCount() {
+        return horseCount;
+    }
+
+    // papan nama kuda `i` di (0, 0) image miliknya sendiri
+    private void paintNamePlate(Graphics2D g2d, int i) {
+        int width = plateWidths[i];
+        if (players[i]) {
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(0, 0, width, plateHeight);
+            g2d.setColor(Color.RED);
+            g2d.setStroke(PLATE_BORDER);
+            g2d.drawRect(1, 1, width - 2, plateHeight - 2);
+            g2d.setFont(PLAYER_FONT);
+        } else {
+            g2d.setColor(PLATE_BACKGROUND);
+            g2d.fillRect(0, 0, width, plateHeight);
+            g2d.setColor(Color.BLACK);
+            g2d.setFont(COMPETITOR_FONT);
+        }
+        FontMetrics metrics = g2d.getFontMetrics();
+        int textX = (width - metrics.stringWidth(names[i])) / 2;
+        int textY = (plateHeight - metrics.getHeight()) / 2 + metrics.getAscent();
+        g2d.drawString(names[i], textX, textY);
+    }
+}
@@ -2,22 +2,35 @@ package view;
 
 import java.awt.*;
 import java.awt.event.ComponentAdapter;
+import java.awt.event.ActionEvent;
 import java.awt.event.ComponentEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseWheelListener;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.text.SimpleAttributeSet;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
+import model.FinishBoard;
+import model.Horse;
+import model.LargeFieldRace;
+import model.PayoutTable;
+import model.RaceClock;
+import model.RaceEventBus;
+import model.RaceEngine;
+import model.RaceField;
 import model.RaceHistory;
 import model.RaceHorse;
+import model.Tournament;
 import model.User;
+import model.WinOddsEstimator;
 import utils.HorseAssets;
+import utils.ImageRegistry;
+import utils.RaceReplay;
+import utils.ReplayRecorder;
 import utils.SoundPlayer;
 import utils.UserManager;
 
@@ -26,56 +39,87 @@ public class RacePanel extends JPanel {
     private UserManager userManager;
     private SoundPlayer soundPlayer = new SoundPlayer();
     private BufferedImage trackImage;
-    private static final int NUM_COMPETITORS = 5;
+    private static final int NUM_COMPETITORS = RaceField.NUM_COMPETITORS;
+    //balapan eksibisi: jauh lebih banyak lane dari yang muat di layar, kamera + zoom yang menampilkannya
+    private static final int STAMPEDE_FIELD_SIZE = 200;
     private static final int LANE_HEIGHT = 110;
     private static final int HORSE_WIDTH = 160;
     private static final int HORSE_HEIGHT = 160;
-    private static final int TRACK_START_X = 100;
     private static final int RACE_UPDATE_DELAY_MS = 30;
+    //frame jalan ~60 fps terpisah dari tick engine; posisi di antara tick diinterpolasi
+    private static final int FRAME_DELAY_MS = 16;
+    private static final double ZOOM_STEP = 1.25;
     private static final int ANIMATION_DELAY_MS = 80;
+    private static final int EVENT_DRAIN_MS = 50;
+    private static final long ANIMATION_FRAME_NANOS = ANIMATION_DELAY_MS * 1_000_000L;
+    private static final String[] SPEED_LABELS = {"0.5x", "1x", "2x", "4x", "10x"};
+    private static final double[] SPEED_SCALES = {0.5, 1, 2, 4, 10};
+    private static final int DEFAULT_SPEED_INDEX = 1;
+    //-Dhorseracing.render.active=true: balapan live digambar thread render sendiri lewat BufferStrategy
+    private static final boolean ACTIVE_RENDERING = Boolean.getBoolean("horseracing.render.active");
+    //F3 menampilkan overlay performa; -Dhorseracing.perf.overlay=true menampilkannya sejak awal
+    private static final boolean SHOW_PERF_OVERLAY = Boolean.getBoolean("horseracing.perf.overlay");
+    private static final String TOGGLE_OVERLAY = "togglePerformanceOverlay";
     private int trackLength;
     private List<RaceHorse> horses;
-    private List<Thread> raceThreads;
-    private List<Integer> laneMappings;
-    private List<JLabel> horseLabels;
-    private List<JLabel> nameLabels;
-    private JLayeredPane trackLayeredPane;
-    private JPanel trackBackgroundPanel;
+    private RaceEngine raceEngine;
+    private RaceField raceField;
+    private int[] laneMappings;
+    private int[] framePositions = new int[0];
+    private RaceCanvas raceCanvas;
+    private ActiveRaceView activeView;
+    private PerformanceOverlay perfOverlay;
+    private JPanel raceViews;
     private JPanel resultPanel;  
     private JLabel[] resultLabels;  
     private JButton startButton;
     private JButton backButton;
+    private JButton quickRaceButton;
+    private JButton stampedeButton;
+    private JComboBox<String> speedBox;
+    private JCheckBox skipAnimationBox;
+    private JButton pauseButton;
+    private JLabel oddsLabel;
+    private WinOddsEstimator oddsEstimator;
+    private boolean fieldReady;
     private boolean raceInProgress;
-    private List<RaceHorse> finishOrder;
+    private final FinishBoard finishBoard = new FinishBoard(NUM_COMPETITORS);
+    //progres balapan live sampai ke panel, suara dan database lewat satu ring buffer
+    private final RaceEventBus raceEvents = new RaceEventBus();
+    private final RaceEventBus.Subscription settlementEvents;
+    private LiveRaceFeed liveFeed;
     private boolean useAnimatedGif;
     
-    private Timer updateTimer;
-    private Timer animationTimer;
-    private int currentFrame = 0;
-    
-    private String[] horseNames = {"Cuki", "Suki", "Oming", "Mujaer", "Jaki"};
+    //satu timer untuk posisi label, frame GIF dan replay; semuanya membaca raceClock
+    private Timer frameTimer;
+    private RaceClock raceClock = new RaceClock();
+    private RaceReplay replay;
+    private long replayTickNanos;
+    private int replayTick;
+    private int replayNextPlace;
+    private Runnable replayFinished;
+    //null kalau tidak ada stampede; di-tick di EDT oleh frameTimer
+    private LargeFieldRace stampede;
+    private String[] stampedeNames;
+    private String pendingResultText;
+    private Tournament activeTournament;
+    private int currentFrame = -1;
     
     public RacePanel(GameFrame gameFrame, UserManager userManager) {
         this.gameFrame = gameFrame;
         this.userManager = userManager;
         this.horses = new ArrayList<>();
-        this.raceThreads = new ArrayList<>();
-        this.laneMappings = new ArrayList<>();
-        this.finishOrder = new ArrayList<>();
-        this.horseLabels = new ArrayList<>();
-        this.nameLabels = new ArrayList<>();
+        this.laneMappings = new int[NUM_COMPETITORS];
         this.raceInProgress = false;
         this.useAnimatedGif = HorseAssets.hasAnimatedGif();
+        //suara boleh kehilangan event lama, settlement tidak
+        raceEvents.subscribeNonBlockingInBackground(soundPlayer, EVENT_DRAIN_MS);
+        settlementEvents = raceEvents.subscribeInBackground(userManager.settlementHandler(), EVENT_DRAIN_MS);
         
         setLayout(new BorderLayout());
         setBackground(new Color(139, 69, 19));
-        try {
-            trackImage = ImageIO.read(new File("assets/TrackBalapan.png"));
-            System.out.println("Track image loaded successfully.");
-        } catch (IOException e) {
-            System.err.println("Failed to load track image, fallback to manual drawTrack: " + e.getMessage());
-            trackImage = null; 
-        }
+        //null kalau gagal dibaca, RaceCanvas tetap menggambar lane di atas warna polos
+        trackImage = ImageRegistry.get(ImageRegistry.TRACK);
             if (useAnimatedGif) {
             System.out.println("Initializing pre-rendered frames...");
             boolean success = HorseAssets.preRenderFrames(HORSE_WIDTH, HORSE_HEIGHT);
@@ -102,33 +146,37 @@ public class RacePanel extends JPanel {
         JPanel centerPanel = new JPanel(new BorderLayout());
         centerPanel.setBackground(new Color(139, 69, 19));
         
-        trackLayeredPane = new JLayeredPane();
-        
-        trackBackgroundPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-
-                if (trackImage != null) {
-                    Graphics2D g2d = (Graphics2D) g;
-                    g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
-                                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                    //gambar track sebagai background, di-scale mengikuti ukuran panel
-                    g2d.drawImage(trackImage, 0, 0, getWidth(), getHeight(), null);
-                }
-            }
-        };
-        
-        trackLayeredPane.add(trackBackgroundPanel, JLayeredPane.DEFAULT_LAYER);
+        //track, kuda dan nama digambar satu komponen, bukan JLabel per kuda
+        raceCanvas = new RaceCanvas(trackImage, NUM_COMPETITORS);
         
-        trackLayeredPane.addComponentListener(new ComponentAdapter() {
+        raceCanvas.addComponentListener(new ComponentAdapter() {
             @Override
             public void componentResized(ComponentEvent e) {
                 updateTrackSize();
             }
         });
         
-        centerPanel.add(trackLayeredPane, BorderLayout.CENTER);
+        //CardLayout memberi ukuran yang sama ke dua view, jadi lane dan trackLength tetap cocok
+        activeView = new ActiveRaceView(raceCanvas);
+        //scroll mouse = zoom kamera; hanya terasa kalau field lebih banyak dari yang muat di layar (stampede)
+        MouseWheelListener zoomListener = e -> raceCanvas.setZoom(
+                raceCanvas.getZoom() * (e.getWheelRotation() < 0 ? ZOOM_STEP : 1 / ZOOM_STEP));
+        raceCanvas.addMouseWheelListener(zoomListener);
+        activeView.addMouseWheelListener(zoomListener);
+        perfOverlay = new PerformanceOverlay(() -> raceCanvas.repaint(perfOverlay.getBounds()));
+        raceCanvas.setOverlay(perfOverlay);
+        getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), TOGGLE_OVERLAY);
+        getActionMap().put(TOGGLE_OVERLAY, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                perfOverlay.setShown(!perfOverlay.isShown());
+            }
+        });
+        perfOverlay.setShown(SHOW_PERF_OVERLAY);
+        raceViews = new JPanel(new CardLayout());
+        raceViews.add(raceCanvas, "passive");
+        raceViews.add(activeView, "active");
+        centerPanel.add(raceViews, BorderLayout.CENTER);
         
         resultPanel = new JPanel();
         resultPanel.setLayout(new BoxLayout(resultPanel, BoxLayout.Y_AXIS));
@@ -150,7 +198,7 @@ public class RacePanel extends JPanel {
             resultLabels[i].setForeground(Color.LIGHT_GRAY);
             resultLabels[i].setAlignmentX(Component.CENTER_ALIGNMENT);
             resultLabels[i].setOpaque(true);
-            resultLabels[i].setBackground(new Color(80, 50, 30));
+            resultLabels[i].setBackground(LiveRaceFeed.EMPTY_RESULT_COLOR);
             resultLabels[i].setBorder(BorderFactory.createCompoundBorder(
                 BorderFactory.createLineBorder(new Color(60, 40, 20), 1),
                 BorderFactory.createEmptyBorder(8, 12, 8, 12)
@@ -161,6 +209,7 @@ public class RacePanel extends JPanel {
             resultPanel.add(resultLabels[i]);
             resultPanel.add(Box.createVerticalStrut(5));
         }
+        liveFeed = new LiveRaceFeed(raceEvents, finishBoard, resultLabels);
         
         centerPanel.add(resultPanel, BorderLayout.EAST);
         add(centerPanel, BorderLayout.CENTER);
@@ -168,6 +217,11 @@ public class RacePanel extends JPanel {
         JPanel bottomPanel = new JPanel();
         bottomPanel.setBackground(new Color(101, 67, 33));
         
+        oddsLabel = new JLabel(" ");
+        oddsLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 14));
+        oddsLabel.setForeground(new Color(255, 235, 205));
+        oddsLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 20));
+        
         startButton = new JButton("START RACE");
         startButton.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 18));
         startButton.setBackground(new Color(34, 139, 34));
@@ -175,6 +229,41 @@ public class RacePanel extends JPanel {
         startButton.setFocusPainted(false);
         startButton.addActionListener(e -> startRace());
         
+        quickRaceButton = new JButton("QUICK RACE");
+        quickRaceButton.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 18));
+        quickRaceButton.setBackground(new Color(218, 165, 32));
+        quickRaceButton.setForeground(Color.WHITE);
+        quickRaceButton.setFocusPainted(false);
+        quickRaceButton.addActionListener(e -> startQuickRace());
+        
+        stampedeButton = new JButton("STAMPEDE");
+        stampedeButton.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 18));
+        stampedeButton.setBackground(new Color(160, 82, 45));
+        stampedeButton.setForeground(Color.WHITE);
+        stampedeButton.setFocusPainted(false);
+        stampedeButton.addActionListener(e -> startStampede());
+        
+        //kecepatan bisa diganti di tengah balapan, berlaku untuk live, quick race dan replay
+        speedBox = new JComboBox<>(SPEED_LABELS);
+        speedBox.setSelectedIndex(DEFAULT_SPEED_INDEX);
+        speedBox.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 14));
+        speedBox.setFocusable(false);
+        speedBox.addActionListener(e -> raceClock.setScale(selectedSpeed()));
+        
+        pauseButton = new JButton("PAUSE");
+        pauseButton.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 18));
+        pauseButton.setBackground(new Color(70, 130, 180));
+        pauseButton.setForeground(Color.WHITE);
+        pauseButton.setFocusPainted(false);
+        pauseButton.setEnabled(false);
+        pauseButton.addActionListener(e -> togglePause());
+        
+        skipAnimationBox = new JCheckBox("Skip quick race animation");
+        skipAnimationBox.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 14));
+        skipAnimationBox.setForeground(Color.WHITE);
+        skipAnimationBox.setOpaque(false);
+        skipAnimationBox.setFocusable(false);
+        
         backButton = new JButton("BACK TO MENU");
         backButton.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 18));
         backButton.setBackground(new Color(178, 34, 34));
@@ -186,69 +275,45 @@ public class RacePanel extends JPanel {
             }
         });
         
+        bottomPanel.add(oddsLabel);
         bottomPanel.add(startButton);
+        bottomPanel.add(quickRaceButton);
+        bottomPanel.add(stampedeButton);
+        bottomPanel.add(skipAnimationBox);
+        bottomPanel.add(speedBox);
+        bottomPanel.add(pauseButton);
         bottomPanel.add(backButton);
         add(bottomPanel, BorderLayout.SOUTH);
     }
     
     private void updateTrackSize() {
-        int panelWidth = trackLayeredPane.getWidth();
-        int panelHeight = trackLayeredPane.getHeight();
+        int panelWidth = raceCanvas.getWidth();
+        int panelHeight = raceCanvas.getHeight();
         
         if (panelWidth > 0 && panelHeight > 0) {
-            trackLength = panelWidth - TRACK_START_X - 100;
-            if (trackLength < 400) trackLength = 400;
-            
-            trackBackgroundPanel.setBounds(0, 0, panelWidth, panelHeight);
+            int previousLength = trackLength;
+            trackLength = RaceField.trackLengthForWidth(panelWidth);
             
-            if (useAnimatedGif && !horseLabels.isEmpty()) {
-                updateHorseLabelPositions();
+            //panjang track berubah = peluang juga berubah
+            if (trackLength != previousLength && fieldReady && !raceInProgress) {
+                startOddsEstimation();
             }
             
-            trackBackgroundPanel.repaint();
-        }
-    }
-    
-    private void updateResultPanel() {
-        SwingUtilities.invokeLater(() -> {
-            synchronized (finishOrder) {
-                for (int i = 0; i < finishOrder.size() && i < resultLabels.length; i++) {
-                    RaceHorse horse = finishOrder.get(i);
-                    String rankText = getRankingSuffix(i + 1);
-                    String displayText = rankText + " " + horse.getName();
-                    if (horse.isPlayer()) {
-                        displayText += " ★";
-                    }
-                    
-                    resultLabels[i].setText(displayText);
-                    
-                    if (i == 0) {
-                        resultLabels[i].setBackground(new Color(255, 215, 0));
-                        resultLabels[i].setForeground(Color.BLACK);
-                    } else if (i == 1) {
-                        resultLabels[i].setBackground(new Color(192, 192, 192));
-                        resultLabels[i].setForeground(Color.BLACK);
-                    } else if (i == 2) {
-                        resultLabels[i].setBackground(new Color(205, 127, 50));
-                        resultLabels[i].setForeground(Color.WHITE);
-                    } else {
-                        resultLabels[i].setBackground(new Color(100, 100, 100));
-                        resultLabels[i].setForeground(Color.WHITE);
-                    }
-                }
-            }
-        });
+            raceCanvas.rebuildTrack();
+            raceCanvas.repaint();
+        }
     }
     
+    private void showNewFinishers() {
+        liveFeed.showNewFinishers();
+    }
+    
+    //dipanggil di EDT saat tidak ada balapan yang menulis ke board
     private void resetResultPanel() {
-        for (int i = 0; i < resultLabels.length; i++) {
-            resultLabels[i].setText("-");
-            resultLabels[i].setBackground(new Color(80, 50, 30));
-            resultLabels[i].setForeground(Color.LIGHT_GRAY);
-        }
+        liveFeed.resetResults();
     }
     
-    private String getRankingSuffix(int position) {
+    static String getRankingSuffix(int position) {
         switch (position) {
             case 1: return "1st";
             case 2: return "2nd";
@@ -258,296 +323,555 @@ public class RacePanel extends JPanel {
     }
     
     private void createHorseLabels() {
-        clearHorseLabels();
-        
-        //Langsung ambil dimensi frame
-        Dimension frameDim = HorseAssets.getPreRenderedDimensions();
-        int frameWidth = frameDim.width;
-        int frameHeight = frameDim.height;
-        
-        //pembuatan label
-        for (int i = 0; i < horses.size(); i++) {
-            RaceHorse horse = horses.get(i);
-            int laneNumber = laneMappings.get(i);
-
-            BufferedImage firstFrame = HorseAssets.getPreRenderedFrame(0);
-            
-            JLabel horseLabel = new JLabel(new ImageIcon(firstFrame));
-            horseLabel.setOpaque(false);
-            
-            //hitung posisi kuda
-            int x = TRACK_START_X + horse.getPosition();
-            int laneY = getLaneTop(laneNumber);
-            int laneHeight = getLaneHeight();
-            int horseY = laneY + (laneHeight - frameHeight) / 2;
-            
-            horseLabel.setBounds(x, horseY, frameWidth, frameHeight);
-            
-            horseLabels.add(horseLabel);
-            trackLayeredPane.add(horseLabel, JLayeredPane.PALETTE_LAYER);
-
-            String labelText = horse.isPlayer() ? horse.getName() + " (YOU)" : horse.getName();
-            JLabel nameLabel = new JLabel(labelText);
-            nameLabel.setOpaque(true); 
-            
-            if (horse.isPlayer()) {
-                nameLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 13));
-                nameLabel.setForeground(Color.RED);
-                nameLabel.setBackground(Color.WHITE);
-                nameLabel.setBorder(BorderFactory.createCompoundBorder(
-                    BorderFactory.createLineBorder(Color.RED, 2),
-                    BorderFactory.createEmptyBorder(2, 5, 2, 5)
-                ));
+        stopFrameTimer();
+        raceCanvas.setField(horses, laneMappings);
+        liveFeed.setField(horses);
+    }
+    
+    private void updateHorseLabelPositions() {
+        capturePositions();
+        raceCanvas.update(framePositions, Math.max(currentFrame, 0));
+    }
+    
+    //balapan live: frame utuh dari snapshot engine; replay: dari rekaman. Keduanya diinterpolasi
+    //antara dua tick terakhir menurut jam, kecuali di tick terakhir yang harus tepat
+    private void capturePositions() {
+        int count = stampede != null ? stampede.size() : horses.size();
+        if (framePositions.length != count) {
+            framePositions = new int[count];
+        }
+        if (stampede != null) {
+            stampede.copyPositions(framePositions);
+        } else if (replay == null && raceEngine != null) {
+            if (raceEngine.isComplete()) {
+                raceEngine.getSnapshot().copyTo(framePositions);
             } else {
-                nameLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 11));
-                nameLabel.setForeground(Color.BLACK);
-                nameLabel.setBackground(new Color(255, 255, 255, 200));
-                nameLabel.setBorder(BorderFactory.createEmptyBorder(1, 4, 1, 4));
+                raceEngine.getSnapshot().interpolateTo(framePositions, raceClock.now(), raceEngine.getTickNanos());
+            }
+        } else if (replay != null && replayTick > 0 && replayTick < replay.getTickCount()) {
+            interpolateReplay();
+        } else {
+            for (int i = 0; i < framePositions.length; i++) {
+                framePositions[i] = horses.get(i).getPosition();
             }
-            
-            //hitung posisi nama
-            int nameWidth = nameLabel.getPreferredSize().width;
-            int nameHeight = nameLabel.getPreferredSize().height;
-            int nameX = x + (frameWidth - nameWidth) / 2;
-            int nameY = laneY + 5;
-            
-            nameLabel.setBounds(nameX, nameY, nameWidth, nameHeight);
-            
-            nameLabels.add(nameLabel);
-            trackLayeredPane.add(nameLabel, JLayeredPane.MODAL_LAYER);
         }
-        
-        //refresh
-        trackLayeredPane.revalidate();
-        trackLayeredPane.repaint();
+        int raceLength = stampede != null ? stampede.getTrackLength()
+                : replay != null ? replay.getTrackLength()
+                : raceEngine != null ? raceEngine.getTrackLength() : trackLength;
+        scaleToTrack(framePositions, raceLength);
     }
     
-    private void clearHorseLabels() {
-        stopAnimationTimer();
-        
-        for (JLabel label : horseLabels) {
-            trackLayeredPane.remove(label);
-        }
-        for (JLabel label : nameLabels) {
-            trackLayeredPane.remove(label);
+    //posisi engine -> piksel kalau panjang balapan beda dengan lebar track di layar
+    //(heat turnamen punya panjang tetap, replay dari jendela dengan ukuran lain)
+    private void scaleToTrack(int[] positions, int raceLength) {
+        if (raceLength == trackLength || raceLength <= 0) return;
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = (int) ((long) positions[i] * trackLength / raceLength);
         }
-        horseLabels.clear();
-        nameLabels.clear();
-        trackLayeredPane.revalidate();
-        trackLayeredPane.repaint();
     }
     
-    private void updateHorseLabelPositions() {
-        if (!useAnimatedGif || horseLabels.isEmpty()) return;
-        
-        Dimension frameDim = HorseAssets.getPreRenderedDimensions();
-        int frameWidth = frameDim.width;
-        int frameHeight = frameDim.height;
-        
-        for (int i = 0; i < horses.size() && i < horseLabels.size(); i++) {
-            RaceHorse horse = horses.get(i);
-            JLabel horseLabel = horseLabels.get(i);
-            JLabel nameLabel = nameLabels.get(i);
-            int laneNumber = laneMappings.get(i);
-            
-            int x = TRACK_START_X + horse.getPosition();
-            int laneY = getLaneTop(laneNumber);
-            int laneHeight = getLaneHeight();
-            int horseY = laneY + (laneHeight - frameHeight) / 2;
-            
-            horseLabel.setLocation(x, horseY);
-            
-            int nameWidth = nameLabel.getWidth();
-            int nameX = x + (frameWidth - nameWidth) / 2;
-            int nameY = laneY + 5;
-            nameLabel.setLocation(nameX, nameY);
+    //sama dengan PositionSnapshot.interpolateTo, sumbernya rekaman replay
+    private void interpolateReplay() {
+        long elapsed = raceClock.now() - (replayTick - 1) * replayTickNanos;
+        elapsed = Math.max(0, Math.min(elapsed, replayTickNanos));
+        for (int i = 0; i < framePositions.length; i++) {
+            int from = replay.getPosition(replayTick - 1, i);
+            int to = replay.getPosition(replayTick, i);
+            framePositions[i] = from + (int) ((to - from) * elapsed / replayTickNanos);
         }
     }
     
+    //frame GIF ikut jam balapan: 2x = kaki bergerak dua kali lebih cepat, pause = diam
     private void updateAnimationFrames() {
-        if (!useAnimatedGif || horseLabels.isEmpty()) return;
+        if (!useAnimatedGif) return;
         
         int totalFrames = HorseAssets.getPreRenderedFrameCount();
         if (totalFrames == 0) return;
         
-        currentFrame = (currentFrame + 1) % totalFrames;
-        BufferedImage frame = HorseAssets.getPreRenderedFrame(currentFrame);
-        
-        if (frame != null) {
-            for (JLabel horseLabel : horseLabels) {
-                horseLabel.setIcon(new ImageIcon(frame));
-            }
-        }
+        currentFrame = (int) ((raceClock.now() / ANIMATION_FRAME_NANOS) % totalFrames);
     }
     
-    private void startAnimationTimer() {
-        if (animationTimer != null && animationTimer.isRunning()) {
+    private void onFrame() {
+        if (liveFeed.drainFrame()) {
+            endLiveRace();
             return;
         }
         
-        if (!HorseAssets.hasPreRenderedFrames()) {
+        if (replay != null) {
+            advanceReplay();
+        }
+        if (stampede != null && advanceStampede()) {
             return;
         }
+        //mode active: EDT cukup menguras event, gambar diurus thread render
+        if (!activeView.isRendering()) {
+            perfOverlay.frameStarted();
+            updateAnimationFrames();
+            updateHorseLabelPositions();
+        }
+    }
+    
+    //jam baru untuk tiap balapan/replay, skala dari pilihan speed saat ini
+    private void startFrameTimer() {
+        stopFrameTimer();
+        raceClock = new RaceClock(selectedSpeed());
+        currentFrame = -1;
+        pauseButton.setText("PAUSE");
+        pauseButton.setEnabled(true);
         
-        currentFrame = 0;
-        
-        animationTimer = new Timer(ANIMATION_DELAY_MS, e -> updateAnimationFrames());
-        animationTimer.start();
-        System.out.println("Animation timer started (FPS: " + (1000.0 / ANIMATION_DELAY_MS) + ")");
+        frameTimer = new Timer(FRAME_DELAY_MS, e -> onFrame());
+        frameTimer.setCoalesce(true);
+        frameTimer.start();
     }
     
-    private void stopAnimationTimer() {
-        if (animationTimer != null) {
-            animationTimer.stop();
-            animationTimer = null;
-            System.out.println("Animation timer stopped");
+    private void stopFrameTimer() {
+        if (frameTimer != null) {
+            frameTimer.stop();
+            frameTimer = null;
         }
+        stopActiveRendering();
+        perfOverlay.framesStopped();
+        liveFeed.stop();
+        pauseButton.setEnabled(false);
     }
     
-    public void initializeRace() {
-        horses.clear();
-        raceThreads.clear();
-        finishOrder.clear();
-        laneMappings.clear();
+    //hanya balapan live; replay dan quick race tetap lewat RaceCanvas karena posisinya diset di EDT.
+    //Frame di sini juga diinterpolasi dari snapshot, jadi ikut refresh rate layar, bukan tick engine
+    private void startActiveRendering() {
+        RaceEngine engine = raceEngine;
+        RaceClock clock = raceClock;
+        int totalFrames = useAnimatedGif ? HorseAssets.getPreRenderedFrameCount() : 0;
         
-        resetResultPanel();
+        ((CardLayout) raceViews.getLayout()).show(raceViews, "active");
+        boolean started = activeView.start(positions -> {
+            engine.getSnapshot().interpolateTo(positions, clock.now(), engine.getTickNanos());
+            scaleToTrack(positions, engine.getTrackLength());
+            return totalFrames == 0 ? 0 : (int) ((clock.now() / ANIMATION_FRAME_NANOS) % totalFrames);
+        });
+        if (started) {
+            //EDT hanya menguras event (label hasil, akhir balapan), cukup secepat subscriber lain
+            frameTimer.setDelay(EVENT_DRAIN_MS);
+        } else {
+            System.err.println("Active rendering unavailable, falling back to Swing painting");
+            ((CardLayout) raceViews.getLayout()).show(raceViews, "passive");
+        }
+    }
+    
+    private void stopActiveRendering() {
+        activeView.stop();
+        ((CardLayout) raceViews.getLayout()).show(raceViews, "passive");
+    }
+    
+    private double selectedSpeed() {
+        return SPEED_SCALES[speedBox.getSelectedIndex()];
+    }
+    
+    private void togglePause() {
+        if (!raceInProgress) return;
         
-        if (updateTimer != null && updateTimer.isRunning()) {
-            updateTimer.stop();
+        if (raceClock.isPaused()) {
+            raceClock.resume();
+            pauseButton.setText("PAUSE");
+            if (replay == null && stampede == null) {
+                soundPlayer.resume();
+            }
+        } else {
+            raceClock.pause();
+            pauseButton.setText("RESUME");
+            soundPlayer.stop();
+        }
+    }
+    
+    private void startOddsEstimation() {
+        cancelOddsEstimation();
+        if (raceField == null || trackLength <= 0) {
+            oddsLabel.setText(" ");
+            return;
         }
         
-        stopAnimationTimer();
+        WinOddsEstimator estimator = new WinOddsEstimator(horses, trackLength, raceField.getSeed());
+        oddsEstimator = estimator;
+        oddsLabel.setText("Calculating odds...");
+        estimator.estimateAsync(WinOddsEstimator.DEFAULT_SIMULATIONS, odds ->
+            SwingUtilities.invokeLater(() -> {
+                //abaikan hasil dari field lama
+                if (oddsEstimator == estimator && !estimator.isCancelled()) {
+                    oddsLabel.setText(formatOdds(odds));
+                }
+            })
+        );
+    }
+    
+    private void cancelOddsEstimation() {
+        if (oddsEstimator != null) {
+            oddsEstimator.cancel();
+            oddsEstimator = null;
+        }
+    }
+    
+    private String formatOdds(WinOddsEstimator.Odds odds) {
+        String text = String.format("Your odds  1st %.1f%%  |  2nd %.1f%%  |  3rd %.1f%%",
+                odds.getChance(1) * 100, odds.getChance(2) * 100, odds.getChance(3) * 100);
+        if (!odds.isComplete()) {
+            text += "  (" + odds.getSimulations() + " sims)";
+        }
+        return text;
+    }
+    
+    //field baru untuk dipasangi taruhan: peluang dihitung karena label peluang tampil di state ini
+    public void initializeRace() {
+        prepareNewField();
+        startOddsEstimation();
+    }
+    
+    //field baru tanpa peluang, untuk balapan yang langsung dimulai
+    private void prepareNewField() {
+        resetRace();
         
         User currentUser = gameFrame.getCurrentUser();
         
-        // horses.add(new RaceHorse(
-        //     currentUser.getHorse().getName(),
-        //     "",
-        //     currentUser.getHorse().calculateRaceSpeed(),
-        //     true
-        // ));
-
-        // cons rh 2
-        horses.add(new RaceHorse(currentUser.getHorse(), true));
-        
-        // cons rh 2
-        for (int i = 1; i < NUM_COMPETITORS; i++) {
-            int randomSpeed = 40 + (int)(Math.random() * 40);
-            horses.add(new RaceHorse(
-                horseNames[i],
-                "",
-                randomSpeed,
-                false
-            ));
+        // speed lawan, lane, dan langkah tiap kuda semua dari satu seed
+        prepareField(RaceField.create(currentUser.getHorse(), RaceField.newSeed()));
+    }
+    
+    private void resetRace() {
+        cancelOddsEstimation();
+        oddsLabel.setText(" ");
+        horses.clear();
+        if (raceEngine != null) {
+            raceEngine.stop();
+            raceEngine = null;
         }
+        resetResultPanel();
+        
+        stopFrameTimer();
+    }
+    
+    private void prepareField(RaceField field) {
+        raceField = field;
+        horses.clear();
+        horses.addAll(raceField.getHorses());
         
         for (int i = 0; i < NUM_COMPETITORS; i++) {
-            laneMappings.add(i);
+            laneMappings[i] = raceField.getLane(i);
         }
-        Collections.shuffle(laneMappings);
         
         createHorseLabels();
         
-        trackBackgroundPanel.repaint();
+        fieldReady = true;
     }
     
     private void startRace() {
         if (raceInProgress) return;
         
-        initializeRace();
+        //field yang sudah ditampilkan peluangnya dipakai langsung, bukan dibuat ulang
+        if (!fieldReady) {
+            prepareNewField();
+        }
+        fieldReady = false;
+        cancelOddsEstimation();
         raceInProgress = true;
         soundPlayer.playLoop("assets/backsound.wav");
-        startButton.setEnabled(false);
-        backButton.setEnabled(false);
-        finishOrder.clear();
+        setRaceControlsEnabled(false);
         resetResultPanel();
         
-        updateTimer = new Timer(RACE_UPDATE_DELAY_MS, e -> updateHorseLabelPositions());
-        updateTimer.setCoalesce(true);
-        updateTimer.start();
-        
-        startAnimationTimer();
-        
-        for (RaceHorse horse : horses) {
-            Thread raceThread = new Thread(() -> {
-                while (horse.getPosition() < trackLength && raceInProgress) {
-                    horse.move();
-                    
-                    if (horse.getPosition() >= trackLength && !horse.isFinished()) {
-                        horse.setFinished(true);
-                        synchronized (finishOrder) {
-                            finishOrder.add(horse);
-                        }
-                        updateResultPanel();
-                    }
-                    
-                    try {
-                        Thread.sleep(RACE_UPDATE_DELAY_MS);
-                    } catch (InterruptedException e) {
-                        break;
-                    }
-                }
-            });
-            
-            raceThreads.add(raceThread);
-            raceThread.start();
+        startFrameTimer();
+        
+        //heat turnamen memakai panjang lintasan turnamen, sama dengan heat AI di ronde yang sama
+        int raceLength = activeTournament != null ? activeTournament.getTrackLength() : trackLength;
+        raceEngine = new RaceEngine(horses, raceLength, RACE_UPDATE_DELAY_MS);
+        raceEngine.setTickJitterObserver(perfOverlay.tickJitterSink());
+        //heat turnamen tidak masuk history, jadi tidak perlu direkam
+        ReplayRecorder recorder = activeTournament == null
+                ? new ReplayRecorder(raceEngine, laneMappings, raceField.getSeed())
+                : null;
+        liveFeed.start(raceEngine, recorder);
+        raceEngine.start(raceClock);
+        if (ACTIVE_RENDERING) {
+            startActiveRendering();
         }
+    }
+    
+    private void endLiveRace() {
+        updateHorseLabelPositions();
+        stopFrameTimer();
+        raceInProgress = false;
+        if (activeTournament != null) {
+            finishTournamentHeat(finishBoard.toList());
+            return;
+        }
+        showRaceResults();
+        //siapkan field berikutnya beserta peluangnya
+        initializeRace();
+        setRaceControlsEnabled(true);
+    }
+
+    //dipanggil saat aplikasi ditutup: settlement yang belum ditulis thread event disimpan sekarang
+    public void shutdown() {
+        settlementEvents.close();
+    }
+
+    //hanya heat milik player yang dianimasikan, heat AI sudah jalan di background
+    public void playTournamentHeat(Tournament tournament) {
+        if (raceInProgress) return;
         
-        new Thread(() -> {
-            for (Thread thread : raceThreads) {
-                try {
-                    thread.join();
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+        resetRace();
+        activeTournament = tournament;
+        Tournament.Heat heat = tournament.getPlayerHeat();
+        prepareField(heat.createField());
+        startRace();
+        oddsLabel.setText("Tournament round " + heat.getRound() + ", heat #" + heat.getNumber());
+    }
+    
+    //tanpa koin dan history: hasil heat dikirim ke turnamen, lalu kembali ke bagan
+    private void finishTournamentHeat(List<RaceHorse> result) {
+        Tournament tournament = activeTournament;
+        activeTournament = null;
+        //raceField masih field heat ini, field berikutnya baru disiapkan setelah kembali ke bagan
+        tournament.completePlayerHeat(raceField, result);
+        
+        int playerPosition = -1;
+        for (int i = 0; i < result.size(); i++) {
+            if (result.get(i).isPlayer()) {
+                playerPosition = i + 1;
+                break;
             }
+        }
+        String text = "You finished " + getRankingSuffix(playerPosition) + " in your heat.\n\n"
+                + (playerPosition == 1
+                        ? "🏆 You advance to the next round! 🏆"
+                        : result.get(0).getName() + " advances. You are out of the tournament.");
+        showRaceResultsDialog(text);
+        setRaceControlsEnabled(true);
+        gameFrame.showPanel("tournament");
+    }
+
+    private void setRaceControlsEnabled(boolean enabled) {
+        startButton.setEnabled(enabled);
+        quickRaceButton.setEnabled(enabled);
+        stampedeButton.setEnabled(enabled);
+        skipAnimationBox.setEnabled(enabled);
+        backButton.setEnabled(enabled);
+    }
+    
+    //hasil dihitung instan, koin + history langsung disimpan, animasi hanya menampilkan lintasan yang sudah jadi
+    private void startQuickRace() {
+        if (raceInProgress) return;
+        
+        if (!fieldReady) {
+            prepareNewField();
+        }
+        fieldReady = false;
+        cancelOddsEstimation();
+        
+        raceEngine = new RaceEngine(horses, trackLength, RACE_UPDATE_DELAY_MS);
+        ReplayRecorder recorder = new ReplayRecorder(raceEngine, laneMappings, raceField.getSeed());
+        raceEngine.addListener(recorder);
+        raceEngine.runToCompletion();
+        try {
+            recorder.save();
+        } catch (IOException e) {
+            System.err.println("Failed to save race replay: " + e.getMessage());
+        }
+        
+        resetResultPanel();
+        for (RaceHorse horse : raceEngine.getFinishOrder()) {
+            finishBoard.record(horse);
+        }
+        pendingResultText = settleRace();
+        gameFrame.updateMainMenu();
+        
+        if (skipAnimationBox.isSelected()) {
+            showNewFinishers();
+            updateHorseLabelPositions();
+            finishQuickRace();
+        } else {
+            startPlayback(recorder.toReplay(), this::finishQuickRace);
+        }
+    }
+    
+    private void finishQuickRace() {
+        showRaceResultsDialog(pendingResultText);
+        pendingResultText = null;
+        initializeRace();
+    }
+    
+    //putar ulang balapan dari file replay, tanpa simulasi dan tanpa hadiah
+    public void playReplay(RaceReplay replayToPlay) {
+        if (raceInProgress) return;
+        
+        //field replay sudah jadi dari rekaman: tidak ada field baru dan tidak ada peluang yang dihitung
+        resetRace();
+        fieldReady = false;
+        
+        horses.clear();
+        laneMappings = new int[replayToPlay.getHorseCount()];
+        for (int i = 0; i < replayToPlay.getHorseCount(); i++) {
+            horses.add(new RaceHorse(replayToPlay.getName(i), "", replayToPlay.getSpeed(i), replayToPlay.isPlayer(i)));
+            laneMappings[i] = replayToPlay.getLane(i);
+        }
+        createHorseLabels();
+        oddsLabel.setText("Replay of race #" + Long.toHexString(replayToPlay.getSeed()));
+        
+        startPlayback(replayToPlay, () -> laneMappings = new int[NUM_COMPETITORS]);
+    }
+    
+    //animasikan lintasan yang sudah terekam, tick yang tampil ditentukan raceClock
+    private void startPlayback(RaceReplay replayToPlay, Runnable onFinished) {
+        replay = replayToPlay;
+        replayTickNanos = replay.getTickMillis() * 1_000_000L;
+        replayTick = 0;
+        replayNextPlace = 1;
+        replayFinished = onFinished;
+        raceInProgress = true;
+        setRaceControlsEnabled(false);
+        
+        resetResultPanel();
+        for (int i = 0; i < horses.size(); i++) {
+            horses.get(i).setPosition(replay.getPosition(0, i));
+        }
+        updateHorseLabelPositions();
+        
+        startFrameTimer();
+    }
+    
+    private void advanceReplay() {
+        //sama dengan RaceEngine.advanceTo: tick ke-n jatuh di (n-1) * tick
+        long due = raceClock.now() / replayTickNanos + 1;
+        int targetTick = (int) Math.min(due, replay.getTickCount());
+        if (targetTick == replayTick) return;
+        replayTick = targetTick;
+        for (int i = 0; i < horses.size(); i++) {
+            horses.get(i).setPosition(replay.getPosition(replayTick, i));
+        }
+        
+        //urutan finish diambil dari rekaman, bukan dihitung ulang
+        while (replayNextPlace <= replay.getFinishedCount()) {
+            RaceHorse horse = horses.get(replay.getHorseAtPlace(replayNextPlace));
+            if (horse.getPosition() < replay.getTrackLength()) break;
+            horse.setFinished(true);
+            finishBoard.record(horse);
+            replayNextPlace++;
+        }
+        showNewFinishers();
+        
+        if (replayTick >= replay.getTickCount()) {
+            updateHorseLabelPositions();
+            replay = null;
+            stopFrameTimer();
+            raceInProgress = false;
+            setRaceControlsEnabled(true);
             
-            SwingUtilities.invokeLater(() -> {
-                if (updateTimer != null) {
-                    updateTimer.stop();
-                }
-                stopAnimationTimer();
-                raceInProgress = false;
-                soundPlayer.stop();
-                showRaceResults();
-                startButton.setEnabled(true);
-                backButton.setEnabled(true);
-            });
-        }).start();
+            Runnable onFinished = replayFinished;
+            replayFinished = null;
+            if (onFinished != null) {
+                onFinished.run();
+            }
+        }
+    }
+
+    //balapan eksibisi ratusan kuda lewat LargeFieldRace, tanpa koin dan history.
+    //Kamera RaceCanvas mengikuti lane player, scroll mouse untuk zoom out
+    private void startStampede() {
+        if (raceInProgress) return;
+        
+        resetRace();
+        fieldReady = false;
+        Horse playerHorse = gameFrame.getCurrentUser().getHorse();
+        stampede = LargeFieldRace.create(playerHorse.calculateRaceSpeed(), STAMPEDE_FIELD_SIZE,
+                                         trackLength, RaceField.newSeed());
+        String[] names = new String[stampede.size()];
+        boolean[] players = new boolean[stampede.size()];
+        int[] lanes = new int[stampede.size()];
+        for (int i = 0; i < names.length; i++) {
+            players[i] = i == stampede.getPlayerIndex();
+            names[i] = players[i] ? playerHorse.getName() : "Runner #" + i;
+            lanes[i] = stampede.getLane(i);
+        }
+        stampedeNames = names;
+        raceCanvas.setField(names, players, lanes);
+        oddsLabel.setText("Stampede: " + names.length + " horses, scroll to zoom");
+        
+        raceInProgress = true;
+        setRaceControlsEnabled(false);
+        updateHorseLabelPositions();
+        startFrameTimer();
+    }
+    
+    //sama dengan advanceReplay: tick ke-n jatuh di (n-1) * tick. Return true kalau stampede selesai
+    private boolean advanceStampede() {
+        long due = raceClock.now() / stampede.getTickNanos() + 1;
+        while (stampede.getTickCount() < due && stampede.tick()) {
+            //kejar tick yang sudah jatuh tempo
+        }
+        liveFeed.showLargeFieldFinishers(stampede, stampedeNames);
+        if (!stampede.isComplete()) return false;
+        
+        updateHorseLabelPositions();
+        String resultText = stampedeResultText(stampede, stampedeNames);
+        stampede = null;
+        stampedeNames = null;
+        stopFrameTimer();
+        raceInProgress = false;
+        showRaceResultsDialog(resultText);
+        setRaceControlsEnabled(true);
+        initializeRace();
+        return true;
+    }
+    
+    private String stampedeResultText(LargeFieldRace race, String[] names) {
+        int playerPlace = race.getFinishRank(race.getPlayerIndex());
+        StringBuilder sb = new StringBuilder();
+        sb.append("You finished ")
+          .append(getRankingSuffix(playerPlace))
+          .append(" of ")
+          .append(race.size())
+          .append(" horses!\nExhibition race: no coins earned.\n\n");
+        int shown = Math.min(NUM_COMPETITORS, race.size());
+        for (int place = 1; place <= shown; place++) {
+            int horse = race.getHorseAtPlace(place);
+            sb.append(getRankingSuffix(place)).append(" - ").append(names[horse]);
+            if (horse == race.getPlayerIndex()) {
+                sb.append(" (You)");
+            }
+            if (place < shown) {
+                sb.append("\n");
+            }
+        }
+        return sb.toString();
     }
 
-    //susun teks hasil balapan
     private void showRaceResults() {
+        String resultText = settleRace();
+        showRaceResultsDialog(resultText);
+    
+        //refresh main menu (label coins dll)
+        gameFrame.updateMainMenu();
+    }
+
+    //bayar koin + simpan history, lalu susun teks hasil balapan
+    private String settleRace() {
         User currentUser = gameFrame.getCurrentUser();
         int playerPosition = -1;
         RaceHorse playerHorse = null;
+        List<RaceHorse> finishOrder = finishBoard.toList();
     
         //cari posisi player di finishOrder
-        synchronized (finishOrder) {
-            for (int i = 0; i < finishOrder.size(); i++) {
-                RaceHorse h = finishOrder.get(i);
-                if (h.isPlayer()) {
-                    playerPosition = i + 1;
-                    playerHorse = h;
-                    break;
-                }
+        for (int i = 0; i < finishOrder.size(); i++) {
+            RaceHorse h = finishOrder.get(i);
+            if (h.isPlayer()) {
+                playerPosition = i + 1;
+                playerHorse = h;
+                break;
             }
         }
     
         //hitung coins
-        int coinsEarned = 0;
-        if (playerPosition == 1) {
-            coinsEarned = 100;
-        } else if (playerPosition == 2) {
-            coinsEarned = 50;
-        } else if (playerPosition == 3) {
-            coinsEarned = 25;
-        }
+        int coinsEarned = PayoutTable.coinsForPlace(playerPosition);
     
-        //update koin player + simpan ke DB
+        //koin di memori langsung diupdate; DB ditambah coins_earned oleh subscriber UserManager
         if (currentUser != null) {
             currentUser.addCoins(coinsEarned);
-            userManager.updateUser(currentUser);
     
             //simpan history balapan
             RaceHistory history = new RaceHistory(
@@ -555,9 +879,12 @@ public class RacePanel extends JPanel {
                     currentUser.getHorse().getName(),
                     playerPosition,
                     NUM_COMPETITORS,
-                    coinsEarned
+                    coinsEarned,
+                    raceField.getSeed(),
+                    raceEngine.getTrackLength(),
+                    currentUser.getHorse().calculateRaceSpeed()
             );
-            userManager.addRaceHistory(history);
+            raceEvents.publishSettlement(history);
         }
 
         StringBuilder sb = new StringBuilder();
@@ -595,6 +922,10 @@ public class RacePanel extends JPanel {
                 if (h.isPlayer()) {
                     sb.append(" (You)");
                 }
+                
+                if (h.getFinishTimeNanos() > 0) {
+                    sb.append(String.format(" - %.3fs", h.getFinishTimeNanos() / 1e9));
+                }
     
                 if (i < finishOrder.size() - 1) {
                     sb.append("\n");
@@ -602,10 +933,7 @@ public class RacePanel extends JPanel {
             }
         }
     
-        showRaceResultsDialog(sb.toString());
-    
-        //refresh main menu (label coins dll)
-        gameFrame.updateMainMenu();
+        return sb.toString();
     }
 
     private void showRaceResultsDialog(String resultText) {
@@ -669,20 +997,6 @@ public class RacePanel extends JPanel {
         dialog.setVisible(true);
     }
 
-    private int getLaneHeight() {
-        int h = trackBackgroundPanel.getHeight();
-        if (h <= 0) {
-            // fallback kalau belum ter-layout
-            return LANE_HEIGHT; // atau 110
-        }
-        return h / NUM_COMPETITORS;
-    }
-
-    //posisi Y (top) dari lane ke-`laneIndex`
-    private int getLaneTop(int laneIndex) {
-        return getLaneHeight() * laneIndex;
-    }
-
     //helper JTextPane untuk dialog
     private JTextPane createDialogTextPane(String text, Font font, Color color, boolean center) {
         JTextPane pane = new JTextPane();
@@ -1,10 +1,8 @@
 package view;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
 import javax.swing.*;
+import utils.ImageRegistry;
 import utils.UserManager;
 
 public class RegisterPanel extends JPanel {
@@ -15,19 +13,12 @@ public class RegisterPanel extends JPanel {
     private JButton backButton;
     private UserManager userManager;
     private GameFrame gameFrame;
-    private BufferedImage backgroundImage;
     
     public RegisterPanel(GameFrame gameFrame, UserManager userManager) {
         this.gameFrame = gameFrame;
         this.userManager = userManager;
         
         setLayout(new GridBagLayout());
-
-        try {
-            backgroundImage = ImageIO.read(new File("assets/background.jpg"));
-        } catch (Exception e) {
-            System.out.println("Could not load background image: " + e.getMessage());
-        }
         
         initComponents();
     }
@@ -35,14 +26,8 @@ public class RegisterPanel extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (backgroundImage != null) {
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-            g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
-        } else {
-            g.setColor(new Color(139, 69, 19));
-            g.fillRect(0, 0, getWidth(), getHeight());
-        }
+        ImageRegistry.drawBackground(g, ImageRegistry.BACKGROUND, getWidth(), getHeight(),
+                ImageRegistry.Quality.SMOOTH, new Color(139, 69, 19));
     }
     
     private void initComponents() {
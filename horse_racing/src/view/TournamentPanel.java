@@ -0,0 +1,225 @@
+package view;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.*;
+import model.RaceField;
+import model.Tournament;
+import model.User;
+
+public class TournamentPanel extends JPanel implements Displayable {
+    private GameFrame gameFrame;
+    private static final int TRACK_LENGTH = 1000;
+    private static final int REFRESH_DELAY_MS = 100;
+    private static final int MAX_RECENT_HEATS = 12;
+    private static final int[] ROUND_OPTIONS = {2, 3, 4, 5, 6};
+    private static final Font INFO_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 15);
+    private static final Font LIST_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 14);
+    private Tournament tournament;
+    private JComboBox<String> sizeBox;
+    private JButton startButton;
+    private JButton raceHeatButton;
+    private JButton backButton;
+    private JLabel statusLabel;
+    private JPanel roundsPanel;
+    private JProgressBar[] roundBars;
+    private DefaultListModel<String> recentHeats;
+    private Timer refreshTimer;
+    private final List<Tournament.Heat> drained = new ArrayList<>();
+    private boolean finishAnnounced;
+
+    public TournamentPanel(GameFrame gameFrame) {
+        this.gameFrame = gameFrame;
+
+        setLayout(new BorderLayout());
+        setBackground(new Color(139, 69, 19));
+
+        initComponents();
+    }
+
+    @Override
+    public void refreshDisplay() {
+        refreshStandings();
+    }
+
+    @Override
+    public String getPanelName() {
+        return "Tournament";
+    }
+
+    private void initComponents() {
+        JPanel topPanel = new JPanel();
+        topPanel.setBackground(new Color(101, 67, 33));
+        JLabel titleLabel = new JLabel("TOURNAMENT");
+        titleLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 24));
+        titleLabel.setForeground(Color.WHITE);
+        topPanel.add(titleLabel);
+        add(topPanel, BorderLayout.NORTH);
+
+        JPanel centerPanel = new JPanel(new BorderLayout(0, 12));
+        centerPanel.setOpaque(false);
+        centerPanel.setBorder(BorderFactory.createEmptyBorder(16, 20, 16, 20));
+
+        statusLabel = new JLabel("Pick a bracket size and start a tournament.");
+        statusLabel.setFont(INFO_FONT);
+        statusLabel.setForeground(new Color(255, 235, 205));
+        centerPanel.add(statusLabel, BorderLayout.NORTH);
+
+        roundsPanel = new JPanel();
+        roundsPanel.setOpaque(false);
+        roundsPanel.setLayout(new BoxLayout(roundsPanel, BoxLayout.Y_AXIS));
+        centerPanel.add(roundsPanel, BorderLayout.CENTER);
+
+        //pemenang heat terbaru, diisi dari antrian heat yang selesai
+        recentHeats = new DefaultListModel<>();
+        JList<String> recentList = new JList<>(recentHeats);
+        recentList.setFont(LIST_FONT);
+        recentList.setBackground(new Color(249, 243, 232));
+        recentList.setForeground(new Color(38, 30, 22));
+        recentList.setFocusable(false);
+        JScrollPane scrollPane = new JScrollPane(recentList);
+        scrollPane.setPreferredSize(new Dimension(360, 0));
+        scrollPane.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(new Color(70, 45, 25), 2), "Latest heat winners",
+                0, 0, INFO_FONT, Color.WHITE));
+        scrollPane.setOpaque(false);
+        centerPanel.add(scrollPane, BorderLayout.EAST);
+
+        add(centerPanel, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel();
+        bottomPanel.setBackground(new Color(101, 67, 33));
+        bottomPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 10, 10));
+
+        String[] sizes = new String[ROUND_OPTIONS.length];
+        for (int i = 0; i < ROUND_OPTIONS.length; i++) {
+            sizes[i] = String.format("%,d horses", Tournament.entrantsFor(ROUND_OPTIONS[i]));
+        }
+        sizeBox = new JComboBox<>(sizes);
+        sizeBox.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 14));
+        sizeBox.setFocusable(false);
+
+        startButton = new JButton("START TOURNAMENT");
+        startButton.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 16));
+        startButton.setBackground(new Color(34, 139, 34));
+        startButton.setForeground(Color.WHITE);
+        startButton.setFocusPainted(false);
+        startButton.addActionListener(e -> startTournament());
+
+        raceHeatButton = new JButton("RACE YOUR HEAT");
+        raceHeatButton.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 16));
+        raceHeatButton.setBackground(new Color(218, 165, 32));
+        raceHeatButton.setForeground(Color.WHITE);
+        raceHeatButton.setFocusPainted(false);
+        raceHeatButton.setEnabled(false);
+        raceHeatButton.addActionListener(e -> gameFrame.showTournamentHeat(tournament));
+
+        backButton = new JButton("BACK TO MENU");
+        backButton.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 16));
+        backButton.setBackground(new Color(178, 34, 34));
+        backButton.setForeground(Color.WHITE);
+        backButton.setFocusPainted(false);
+        backButton.addActionListener(e -> gameFrame.showPanel("mainMenu"));
+
+        bottomPanel.add(sizeBox);
+        bottomPanel.add(startButton);
+        bottomPanel.add(raceHeatButton);
+        bottomPanel.add(backButton);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        refreshTimer = new Timer(REFRESH_DELAY_MS, e -> refreshStandings());
+        refreshTimer.setCoalesce(true);
+    }
+
+    private void startTournament() {
+        User currentUser = gameFrame.getCurrentUser();
+        if (currentUser == null) return;
+
+        if (tournament != null) {
+            tournament.cancel();
+        }
+        int rounds = ROUND_OPTIONS[sizeBox.getSelectedIndex()];
+        tournament = new Tournament(currentUser.getHorse(), rounds, TRACK_LENGTH, RaceField.newSeed());
+        finishAnnounced = false;
+        recentHeats.clear();
+
+        roundsPanel.removeAll();
+        roundBars = new JProgressBar[rounds + 1];
+        for (int r = 1; r <= rounds; r++) {
+            JProgressBar bar = new JProgressBar(0, tournament.getHeatCount(r));
+            bar.setStringPainted(true);
+            bar.setFont(LIST_FONT);
+            bar.setForeground(new Color(34, 139, 34));
+            bar.setMaximumSize(new Dimension(Integer.MAX_VALUE, 32));
+            bar.setAlignmentX(Component.LEFT_ALIGNMENT);
+            roundBars[r] = bar;
+            roundsPanel.add(bar);
+            roundsPanel.add(Box.createVerticalStrut(8));
+        }
+        roundsPanel.revalidate();
+        roundsPanel.repaint();
+
+        startButton.setEnabled(false);
+        sizeBox.setEnabled(false);
+        tournament.start();
+        refreshTimer.start();
+        refreshStandings();
+    }
+
+    //dipanggil timer: progres tiap ronde + heat yang baru selesai, tanpa callback per heat ke EDT
+    private void refreshStandings() {
+        if (tournament == null) return;
+
+        for (int r = 1; r <= tournament.getRounds(); r++) {
+            int done = tournament.getHeatsDone(r);
+            int total = tournament.getHeatCount(r);
+            roundBars[r].setValue(done);
+            roundBars[r].setString(String.format("Round %d: %,d / %,d heats", r, done, total));
+        }
+
+        drained.clear();
+        tournament.drainCompletedHeats(drained, Integer.MAX_VALUE);
+        //yang tampil hanya beberapa terakhir, sisanya cukup dikuras
+        for (int i = Math.max(0, drained.size() - MAX_RECENT_HEATS); i < drained.size(); i++) {
+            Tournament.Heat heat = drained.get(i);
+            Tournament.Entrant winner = heat.getWinner();
+            String text = String.format("R%d heat %,d: %s (spd %d)",
+                    heat.getRound(), heat.getNumber(), winner.getName(), winner.getSpeed());
+            if (winner.isPlayer()) {
+                text += " ★";
+            }
+            recentHeats.add(0, text);
+        }
+        while (recentHeats.size() > MAX_RECENT_HEATS) {
+            recentHeats.remove(recentHeats.size() - 1);
+        }
+
+        Tournament.Heat playerHeat = tournament.getPlayerHeat();
+        boolean waitingForPlayer = playerHeat != null && !playerHeat.isComplete()
+                && playerHeat.getRound() == tournament.getCurrentRound();
+        raceHeatButton.setEnabled(waitingForPlayer);
+
+        if (tournament.isComplete()) {
+            Tournament.Entrant champion = tournament.getChampion();
+            statusLabel.setText("Champion: " + champion.getName() + (champion.isPlayer() ? " (YOU!)" : ""));
+            refreshTimer.stop();
+            startButton.setEnabled(true);
+            sizeBox.setEnabled(true);
+            if (!finishAnnounced) {
+                finishAnnounced = true;
+                String message = champion.isPlayer()
+                        ? "🏆 You won the tournament! 🏆"
+                        : champion.getName() + " won the tournament.";
+                JOptionPane.showMessageDialog(this, message, "Tournament Complete", JOptionPane.INFORMATION_MESSAGE);
+            }
+        } else if (waitingForPlayer) {
+            statusLabel.setText("Round " + tournament.getCurrentRound() + ": your heat #" + playerHeat.getNumber()
+                    + " is ready. Win it to advance!");
+        } else if (playerHeat == null) {
+            statusLabel.setText("You were eliminated. Round " + tournament.getCurrentRound() + " is running...");
+        } else {
+            statusLabel.setText("Round " + tournament.getCurrentRound() + " is running...");
+        }
+    }
+}
@@ -1,10 +1,6 @@
 package view;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.plaf.basic.BasicProgressBarUI;
 import javax.swing.text.SimpleAttributeSet;
@@ -12,6 +8,7 @@ import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
 import model.Horse;
 import model.User;
+import utils.ImageRegistry;
 import utils.UserManager;
 
 public class UpgradePanel extends JPanel implements Displayable {
@@ -28,7 +25,6 @@ public class UpgradePanel extends JPanel implements Displayable {
     private JProgressBar speedBar;
     private JProgressBar staminaBar;
     private JProgressBar accelerationBar;
-    private BufferedImage backgroundImage;
     
     private static final int SPEED_BASE_COST = 70;
     private static final int SPEED_COST_INCREMENT = 15;
@@ -45,12 +41,6 @@ public class UpgradePanel extends JPanel implements Displayable {
     public UpgradePanel(GameFrame gameFrame, UserManager userManager) {
         this.gameFrame = gameFrame;
         this.userManager = userManager;
-
-        try {
-            backgroundImage = ImageIO.read(new File("assets/background.jpg"));
-        } catch (IOException e) {
-            System.err.println("Failed to load background image: " + e.getMessage());
-        }
         
         setLayout(new BorderLayout());
         
@@ -70,10 +60,8 @@ public class UpgradePanel extends JPanel implements Displayable {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (backgroundImage != null) {
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), null);
-        }
+        ImageRegistry.drawBackground(g, ImageRegistry.BACKGROUND, getWidth(), getHeight(),
+                ImageRegistry.Quality.SMOOTH, null);
     }
     
     private void initComponents() {
@@ -458,7 +446,7 @@ public class UpgradePanel extends JPanel implements Displayable {
         horse.setSpeed(newSpeed);
         
         checkLevelUp(horse, oldLevel);
-        userManager.updateUser(currentUser);
+        userManager.updateUser(currentUser, -cost);
         updateStats();
         gameFrame.updateMainMenu();
     }
@@ -485,7 +473,7 @@ public class UpgradePanel extends JPanel implements Displayable {
         horse.setStamina(newStamina);
         
         checkLevelUp(horse, oldLevel);
-        userManager.updateUser(currentUser);
+        userManager.updateUser(currentUser, -cost);
         updateStats();
         gameFrame.updateMainMenu();
     }
@@ -512,7 +500,7 @@ public class UpgradePanel extends JPanel implements Displayable {
         horse.setAcceleration(newAcceleration);
         
         checkLevelUp(horse, oldLevel);
-        userManager.updateUser(currentUser);
+        userManager.updateUser(currentUser, -cost);
         updateStats();
         gameFrame.updateMainMenu();
     }
@@ -0,0 +1,118 @@
+package view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.management.ThreadMXBean;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import javax.imageio.ImageIO;
+import javax.swing.JLabel;
+import model.FinishBoard;
+import model.RaceEngine;
+import model.RaceEventBus;
+import model.RaceField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.HorseAssets;
+import utils.ReplayRecorder;
+
+// Regresi alokasi balapan live, headless, lewat kode yang sama dengan RacePanel:
+// tick engine + ReplayRecorder -> LiveRaceFeed (ring buffer non-blocking, label hasil) -> interpolasi
+// snapshot -> RaceCanvas.update -> paintRace ke image offscreen. Satu balapan penuh sampai event COMPLETE,
+// termasuk semua kuda finish dan simpan replay, tidak boleh mengalokasikan lebih dari BUDGET_BYTES.
+class FrameLoopAllocationTest {
+
+    private static final int WARMUP_RACES = 20;
+    // pengaman kalau COMPLETE tidak pernah sampai ke feed
+    private static final int MAX_TICKS = 100_000;
+    // simpan replay di akhir balapan (FileChannel, daftar file untuk batas jumlah replay) + sisa internal JDK
+    private static final long BUDGET_BYTES = 16 * 1024;
+    private static final int WIDTH = 1600;
+    private static final int HEIGHT = 900;
+    private static final int TRACK_LENGTH = 3000;
+    private static final long FRAME_NANOS = 80_000_000L;
+    private static final long TICK_NANOS = RaceEngine.DEFAULT_TICK_MS * 1_000_000L;
+
+    private final BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+    private final Graphics2D g2d = target.createGraphics();
+    private final RaceCanvas.PaintState paint = new RaceCanvas.PaintState();
+    private final RaceEventBus events = new RaceEventBus();
+    private final FinishBoard finishBoard = new FinishBoard(RaceField.NUM_COMPETITORS);
+    private final JLabel[] resultLabels = new JLabel[RaceField.NUM_COMPETITORS];
+    private final int[] positions = new int[RaceField.NUM_COMPETITORS];
+    private final int[] lanes = new int[RaceField.NUM_COMPETITORS];
+    private RaceCanvas canvas;
+    private LiveRaceFeed feed;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        HorseAssets.preRenderFrames(160, 160);
+        canvas = new RaceCanvas(ImageIO.read(new File("assets/TrackBalapan.png")), RaceField.NUM_COMPETITORS);
+        canvas.setSize(WIDTH, HEIGHT);
+        canvas.rebuildTrack();
+        paint.clip.setBounds(0, 0, WIDTH, HEIGHT);
+        for (int i = 0; i < resultLabels.length; i++) {
+            resultLabels[i] = new JLabel("-");
+        }
+        feed = new LiveRaceFeed(events, finishBoard, resultLabels);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+        g2d.dispose();
+    }
+
+    @Test
+    void liveRaceDoesNotAllocateAfterWarmup() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_RACES; i++) {
+            runRace(newRace(i));
+        }
+
+        RaceEngine engine = newRace(WARMUP_RACES);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int ticks = runRace(engine);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(engine.isComplete(), "race did not complete");
+        assertEquals(RaceField.NUM_COMPETITORS, feed.getResultsShown(), "not every finisher reached the result labels");
+        assertTrue(allocated <= BUDGET_BYTES,
+                "live race of " + ticks + " ticks allocated " + allocated + " bytes (budget " + BUDGET_BYTES + ")");
+    }
+
+    private RaceEngine newRace(long seed) {
+        RaceField field = RaceField.create("Check", 60, seed);
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = field.getLane(i);
+        }
+        canvas.setField(field.getHorses(), lanes);
+        feed.setField(field.getHorses());
+        feed.resetResults();
+        RaceEngine engine = new RaceEngine(field.getHorses(), TRACK_LENGTH);
+        feed.start(engine, new ReplayRecorder(engine, lanes, seed));
+        return engine;
+    }
+
+    // tick engine lalu satu frame, urutan yang sama dengan thread engine + RacePanel.onFrame
+    private int runRace(RaceEngine engine) {
+        int tick = 0;
+        boolean ended = false;
+        while (!ended && tick < MAX_TICKS) {
+            engine.tick();
+            ended = feed.drainFrame();
+            //frame di tengah tick, sama seperti timer frame yang jatuh di antara dua tick
+            engine.getSnapshot().interpolateTo(positions, tick * TICK_NANOS + TICK_NANOS / 2, TICK_NANOS);
+            int frame = (int) ((tick * TICK_NANOS / FRAME_NANOS) % Math.max(1, HorseAssets.getPreRenderedFrameCount()));
+            canvas.update(positions, frame);
+            canvas.paintRace(g2d, WIDTH, HEIGHT, positions, frame, paint);
+            tick++;
+        }
+        return tick;
+    }
+}
@@ -0,0 +1,88 @@
+package view;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import model.LargeFieldRace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.HorseAssets;
+
+// Field besar seperti stampede di RacePanel: kamera mengikuti lane player dan paintRace hanya
+// menggambar lane yang terlihat, jadi jumlah blit tergantung tinggi layar, bukan jumlah kuda.
+class RaceCanvasCullingTest {
+
+    private static final int FIELD_SIZE = 500;
+    private static final int WIDTH = 1600;
+    private static final int HEIGHT = 900;
+    private static final int TRACK_LENGTH = 1300;
+    // satu lane di atas dan di bawah layar ikut digambar, plus lane yang terpotong
+    private static final int EXTRA_LANES = 3;
+
+    private final BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+    private final Graphics2D g2d = target.createGraphics();
+    private final RaceCanvas.PaintState paint = new RaceCanvas.PaintState();
+    private RaceCanvas canvas;
+    private LargeFieldRace race;
+    private int[] positions;
+
+    @BeforeEach
+    void setUp() {
+        assertTrue(HorseAssets.preRenderFrames(160, 160), "horse frames could not be rendered");
+        race = LargeFieldRace.create(60, FIELD_SIZE, TRACK_LENGTH, 7);
+        String[] names = new String[FIELD_SIZE];
+        boolean[] players = new boolean[FIELD_SIZE];
+        int[] lanes = new int[FIELD_SIZE];
+        for (int i = 0; i < FIELD_SIZE; i++) {
+            names[i] = "Runner #" + i;
+            players[i] = i == race.getPlayerIndex();
+            lanes[i] = race.getLane(i);
+        }
+        canvas = new RaceCanvas(null, FIELD_SIZE);
+        canvas.setSize(WIDTH, HEIGHT);
+        canvas.setField(names, players, lanes);
+        canvas.rebuildTrack();
+        paint.clip.setBounds(0, 0, WIDTH, HEIGHT);
+        positions = new int[FIELD_SIZE];
+        for (int i = 0; i < 20; i++) {
+            race.tick();
+        }
+        race.copyPositions(positions);
+    }
+
+    @AfterEach
+    void tearDown() {
+        g2d.dispose();
+    }
+
+    @Test
+    void cameraKeepsPlayerLaneOnScreen() {
+        int laneHeight = canvas.getLaneHeight();
+        int top = canvas.getLaneTop(race.getLane(race.getPlayerIndex()));
+        assertTrue(top >= 0 && top + laneHeight <= HEIGHT, "player lane drawn at " + top + " is off screen");
+    }
+
+    @Test
+    void onlyVisibleLanesArePainted() {
+        assertVisibleLanesOnly();
+        canvas.setZoom(RaceCanvas.MIN_ZOOM);
+        assertVisibleLanesOnly();
+    }
+
+    private void assertVisibleLanesOnly() {
+        long before = blits();
+        canvas.paintRace(g2d, WIDTH, HEIGHT, positions, 0, paint);
+        long drawn = blits() - before;
+
+        long visibleLanes = HEIGHT / canvas.getLaneHeight() + EXTRA_LANES;
+        assertTrue(drawn > 0, "no horses drawn");
+        assertTrue(drawn <= visibleLanes,
+                drawn + " horses drawn for " + visibleLanes + " visible lanes at zoom " + canvas.getZoom());
+    }
+
+    private static long blits() {
+        return HorseAssets.getAcceleratedBlits() + HorseAssets.getUnacceleratedBlits();
+    }
+}